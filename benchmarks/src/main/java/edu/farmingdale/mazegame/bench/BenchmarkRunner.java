@@ -0,0 +1,47 @@
+package edu.farmingdale.mazegame.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line (for
+ * example a benchmark regex, -f or -wi) but writes results as JSON by default
+ * so runs can be diffed against the previous release.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList()) {
+            new Runner(cli).list();
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.MazeLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Hitbox collision and swept-move throughput at random sub-pixel positions in a synthetic maze. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"512", "1024", "2048", "4096"})
+    public int size;
+
+    private MazeLevel level;
+    private final double[] xs = new double[PROBES];
+    private final double[] ys = new double[PROBES];
+
+    @Setup
+    public void build() {
+        level = SyntheticMazes.backtracker(size, 42L);
+        SplittableRandom random = new SplittableRandom(7L);
+        double maxX = level.getWidth() - level.getPlayerSize();
+        double maxY = level.getHeight() - level.getPlayerSize();
+        for (int i = 0; i < PROBES; i++) {
+            xs[i] = random.nextDouble(maxX);
+            ys[i] = random.nextDouble(maxY);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int canMoveTo() {
+        int open = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (level.canMoveTo(xs[i], ys[i])) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /** Long swept moves: the cost should not grow with the distance travelled. */
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public double sweepX() {
+        double travelled = 0;
+        for (int i = 0; i < PROBES; i++) {
+            double dx = (i & 1) == 0 ? 64 : -64;
+            travelled += level.getClearance().sweepX(xs[i], ys[i], level.getPlayerSize(), 0, dx);
+        }
+        return travelled;
+    }
+}
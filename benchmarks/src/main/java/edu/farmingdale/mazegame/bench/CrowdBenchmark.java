@@ -0,0 +1,55 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.Crowd;
+import edu.farmingdale.mazegame.core.MazeLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 120 Hz crowd tick on a large synthetic maze. The crowd is respawned
+ * every iteration; paths there are long enough that most agents are still
+ * moving when it ends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrowdBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int agents;
+
+    private MazeLevel level;
+    private Crowd crowd;
+
+    @Setup
+    public void build() {
+        level = SyntheticMazes.backtracker(2048, 42L);
+        level.getSolver().distanceFieldTo((int) level.getEndX(), (int) level.getEndY());
+    }
+
+    @Setup(Level.Iteration)
+    public void spawn() {
+        crowd = new Crowd(level, agents, 120.0, 7L);
+    }
+
+    @Benchmark
+    public int step() {
+        crowd.step(1.0 / 120.0);
+        return crowd.getArrivedCount();
+    }
+}
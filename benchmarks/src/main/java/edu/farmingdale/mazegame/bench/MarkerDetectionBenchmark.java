@@ -0,0 +1,53 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.MarkerDetector;
+import edu.farmingdale.mazegame.core.MazeGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Striped run labeling of markers on challenger-style grids with discs that grow with the image. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkerDetectionBenchmark {
+
+    @Param({"512", "1024", "2048", "4096"})
+    public int size;
+
+    private MazeGrid grid;
+
+    @Setup
+    public void build() {
+        grid = SyntheticMazes.markers(size);
+    }
+
+    @Benchmark
+    public List<double[]> blueMarkers() {
+        return MarkerDetector.findMarkerCenters(grid, true);
+    }
+
+    @Benchmark
+    public List<double[]> redMarkers() {
+        return MarkerDetector.findMarkerCenters(grid, false);
+    }
+
+    @Benchmark
+    public MarkerDetector.Markers allMarkers() {
+        return MarkerDetector.findAllMarkerCenters(grid);
+    }
+}
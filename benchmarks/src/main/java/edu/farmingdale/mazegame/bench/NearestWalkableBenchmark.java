@@ -0,0 +1,45 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.MazeLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What used to be the worst case for the nearest-walkable ring search: the only
+ * open room sits in the opposite corner from the query. With the lookup table
+ * it is one array read once the first call has built the table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearestWalkableBenchmark {
+
+    @Param({"512", "1024", "2048", "4096"})
+    public int size;
+
+    private MazeLevel level;
+
+    @Setup
+    public void build() {
+        level = SyntheticMazes.cornerRoom(size);
+    }
+
+    @Benchmark
+    public double[] fromOppositeCorner() {
+        return level.findNearestWalkablePoint(0, 0);
+    }
+}
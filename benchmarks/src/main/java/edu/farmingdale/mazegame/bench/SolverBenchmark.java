@@ -0,0 +1,79 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.MazeLevel;
+import edu.farmingdale.mazegame.core.MazeSolver;
+import edu.farmingdale.mazegame.core.PathRuns;
+import edu.farmingdale.mazegame.core.SolverStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawn-to-exit solve on each bundled level with every strategy.
+ * The distance field and HPA* graph are built in setup, so their scores are
+ * cached re-solves; HPA* is measured with its lazy path fully read.
+ * {@code solveRuns} is the compact path the game drives, and
+ * {@code solveSmoothed} adds the any-angle pass on top of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+
+    @Param({"maze.png", "maze2.png", "maze3.png", "challenger.png"})
+    public String maze;
+
+    @Param({"BFS", "A_STAR", "JUMP_POINT", "DISTANCE_FIELD", "HIERARCHICAL"})
+    public SolverStrategy strategy;
+
+    private MazeSolver solver;
+    private int startX;
+    private int startY;
+    private int endX;
+    private int endY;
+
+    @Setup
+    public void load() throws IOException {
+        MazeLevel level = MazeLevel.load(maze);
+        int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+        solver = level.getSolver();
+        startX = start[0];
+        startY = start[1];
+        endX = (int) level.getEndX();
+        endY = (int) level.getEndY();
+        if (solver.solve(startX, startY, endX, endY, strategy).isEmpty()) {
+            throw new IllegalStateException(maze + " has no path for " + strategy);
+        }
+    }
+
+    @Benchmark
+    public int[] solve() {
+        List<int[]> path = solver.solve(startX, startY, endX, endY, strategy);
+        return path.get(path.size() - 1);
+    }
+
+    @Benchmark
+    public PathRuns solveRuns() {
+        return solver.solveRuns(startX, startY, endX, endY, strategy);
+    }
+
+    @Benchmark
+    public PathRuns solveSmoothed() {
+        return solver.smooth(solver.solveRuns(startX, startY, endX, endY, strategy));
+    }
+}
@@ -0,0 +1,78 @@
+package edu.farmingdale.mazegame.bench;
+
+import edu.farmingdale.mazegame.core.MazeGrid;
+import edu.farmingdale.mazegame.core.MazeLevel;
+import edu.farmingdale.mazegame.gen.GeneratedMaze;
+import edu.farmingdale.mazegame.gen.MazeAlgorithm;
+import edu.farmingdale.mazegame.gen.MazeGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Deterministic maze grids of any size for the benchmarks, built in memory
+ * so results do not depend on the bundled PNGs.
+ */
+final class SyntheticMazes {
+
+    static final int WHITE = 0xFFFFFFFF;
+    static final int BLACK = 0xFF000000;
+    static final int BLUE = 0xFF1E3CDC;
+    static final int RED = 0xFFDC1E1E;
+
+    static final int WALL = GeneratedMaze.WALL;
+    static final int PITCH = GeneratedMaze.PITCH;
+
+    private SyntheticMazes() {
+    }
+
+    /** A perfect maze (recursive backtracker, fixed seed) about {@code size} pixels square. */
+    static MazeLevel backtracker(int size, long seed) {
+        return MazeGenerator.generate(MazeAlgorithm.BACKTRACKER, size, seed).toLevel("synthetic-" + size);
+    }
+
+    /**
+     * A solid image with one open room in the bottom-right corner, so a
+     * nearest-walkable search from the top-left has to sweep almost every ring.
+     */
+    static MazeLevel cornerRoom(int size) {
+        int[] argb = new int[size * size];
+        Arrays.fill(argb, BLACK);
+        int roomStart = size - PITCH - WALL;
+        fill(argb, size, roomStart, roomStart, PITCH, PITCH, WHITE);
+        MazeGrid grid = MazeGrid.fromArgb(size, size, argb, false);
+        int exit = ((roomStart + 3) / 4) * 4;
+        return new MazeLevel("corner-room-" + size, grid, exit, exit, exit, exit);
+    }
+
+    /**
+     * A challenger-style grid with one large blue disc and two red discs whose
+     * radius grows with the image, so flood filling dominates marker detection.
+     */
+    static MazeGrid markers(int size) {
+        int[] argb = new int[size * size];
+        Arrays.fill(argb, WHITE);
+        int radius = Math.max(4, size / 10);
+        disc(argb, size, size / 4, size / 4, radius, BLUE);
+        disc(argb, size, size * 3 / 4, size / 4, radius, RED);
+        disc(argb, size, size * 3 / 4, size * 3 / 4, radius, RED);
+        return MazeGrid.fromArgb(size, size, argb, true);
+    }
+
+    private static void fill(int[] argb, int side, int left, int top, int width, int height, int color) {
+        for (int y = top; y < top + height; y++) {
+            Arrays.fill(argb, y * side + left, y * side + left + width, color);
+        }
+    }
+
+    private static void disc(int[] argb, int side, int centerX, int centerY, int radius, int color) {
+        for (int y = Math.max(0, centerY - radius); y <= Math.min(side - 1, centerY + radius); y++) {
+            for (int x = Math.max(0, centerX - radius); x <= Math.min(side - 1, centerX + radius); x++) {
+                int dx = x - centerX;
+                int dy = y - centerY;
+                if (dx * dx + dy * dy <= radius * radius) {
+                    argb[y * side + x] = color;
+                }
+            }
+        }
+    }
+}
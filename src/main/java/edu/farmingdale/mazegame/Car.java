@@ -1,8 +1,13 @@
 package edu.farmingdale.mazegame;
 
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 
+import java.util.Arrays;
+
 public class Car
 {
     // State
@@ -12,6 +17,11 @@ public class Car
     // degrees
     private double angle = 0;
 
+    // Sprite cache: one pre-rendered image per rotation step, at the current render scale
+    private static final int ROTATION_STEPS = 72;
+    private final WritableImage[] sprites = new WritableImage[ROTATION_STEPS];
+    private double renderScale = 1.0;
+
     // Colors
     private static final Color SHADOW        = Color.rgb(0, 0, 0, 0.18);
     private static final Color BODY_FILL     = Color.rgb(70, 40, 160);
@@ -43,13 +53,56 @@ public class Car
         this.height = height;
     }
 
+    /**
+     * Device pixels per unit of the context the car is drawn into. Sprites are
+     * rasterized at this scale so they stay sharp when the maze is scaled up.
+     */
+    public void setRenderScale(double scale)
+    {
+        if (scale != renderScale)
+        {
+            renderScale = scale;
+            Arrays.fill(sprites, null);
+        }
+    }
+
     // Rendering
     public void draw(GraphicsContext gc)
     {
-        gc.save();
-        gc.translate(x + width / 2, y + height / 2);
-        gc.rotate(angle);
+        int step = Math.floorMod((int) Math.round(angle * ROTATION_STEPS / 360.0), ROTATION_STEPS);
+        WritableImage sprite = sprites[step];
+        if (sprite == null)
+        {
+            sprite = rasterize(step * 360.0 / ROTATION_STEPS);
+            sprites[step] = sprite;
+        }
+
+        double size = sprite.getWidth() / renderScale;
+        gc.drawImage(sprite, x + width / 2 - size / 2, y + height / 2 - size / 2, size, size);
+    }
+
+    /** Renders the car at one heading onto a square transparent image centered on the car. */
+    private WritableImage rasterize(double degrees)
+    {
+        double[] bounds = boundsAt(0, 0, new double[4]);
+        double radius = (bounds[2] - bounds[0]) / 2;
+        int pixels = (int) Math.ceil(radius * 2 * renderScale);
+
+        Canvas canvas = new Canvas(pixels, pixels);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.scale(renderScale, renderScale);
+        gc.translate(pixels / renderScale / 2, pixels / renderScale / 2);
+        gc.rotate(degrees);
+        drawVector(gc);
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(params, null);
+    }
 
+    /** Vector drawing of the car at angle 0, centered on the origin. */
+    private void drawVector(GraphicsContext gc)
+    {
         final double w = width;
         final double h = height;
 
@@ -60,8 +113,6 @@ public class Car
         drawDetails(gc, w, h);
         drawLights(gc, w, h);
         drawWheels(gc, w, h);
-
-        gc.restore();
     }
 
     private void drawShadow(GraphicsContext gc, double w, double h)
@@ -162,6 +213,23 @@ public class Car
         gc.strokePolygon(xs, ys, xs.length);
     }
 
+    /**
+     * Writes the box {minX, minY, maxX, maxY} that covers the car drawn at
+     * (carX, carY) at any heading, including its shadow and stroke widths,
+     * into {@code out} and returns it.
+     */
+    public double[] boundsAt(double carX, double carY, double[] out)
+    {
+        double cx = carX + width / 2;
+        double cy = carY + height / 2;
+        double r = Math.hypot(width * 0.5, height * 0.6) + 1;
+        out[0] = cx - r;
+        out[1] = cy - r;
+        out[2] = cx + r;
+        out[3] = cy + r;
+        return out;
+    }
+
     // Movement
     public void setPosition(double newX, double newY)
     {
@@ -176,4 +244,13 @@ public class Car
         else if (dy > 0) angle = 90;
         else if (dy < 0) angle = -90;
     }
+
+    // Any heading, for auto-solve paths that run diagonally; a zero move keeps the old one
+    public void faceToward(double dx, double dy)
+    {
+        if (dx != 0 || dy != 0)
+        {
+            angle = Math.toDegrees(Math.atan2(dy, dx));
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package edu.farmingdale.mazegame;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Frame times of the last {@link #WINDOW} pulses in a fixed histogram of
+ * 0.1 ms buckets, plus the latest pulse's simulation and draw time. Recording
+ * never allocates: each frame bumps one bucket and retires the frame that
+ * fell out of the window. Bucket counts are atomic, so percentiles can be
+ * read from any thread; the rest is written and read on the FX thread.
+ */
+final class FrameStats {
+
+    static final int WINDOW = 240;
+    private static final long BUCKET_NS = 100_000;
+    /** 0 to 100 ms; slower frames all land in the last bucket. */
+    private static final int BUCKETS = 1000;
+
+    private final AtomicIntegerArray buckets = new AtomicIntegerArray(BUCKETS);
+    private final long[] window = new long[WINDOW];
+    private int next;
+    private int count;
+    private long windowNs;
+    private long simulationNs;
+    private long drawNs;
+
+    void record(long frameNs, long simulationNs, long drawNs) {
+        this.simulationNs = simulationNs;
+        this.drawNs = drawNs;
+        if (count == WINDOW) {
+            long retired = window[next];
+            buckets.decrementAndGet(bucket(retired));
+            windowNs -= retired;
+        } else {
+            count++;
+        }
+        window[next] = frameNs;
+        next = (next + 1) % WINDOW;
+        buckets.incrementAndGet(bucket(frameNs));
+        windowNs += frameNs;
+    }
+
+    /** Frames per second over the window, or 0 before the first frame. */
+    double fps() {
+        return windowNs == 0 ? 0 : count * 1e9 / windowNs;
+    }
+
+    /**
+     * Frame time at quantile {@code q} (0.5 for the median) in nanoseconds,
+     * rounded up to its 0.1 ms bucket.
+     */
+    long percentileNs(double q) {
+        int total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        int rank = Math.max(1, (int) Math.ceil(q * total));
+        int seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NS;
+            }
+        }
+        return BUCKETS * BUCKET_NS;
+    }
+
+    long simulationNs() { return simulationNs; }
+    long drawNs() { return drawNs; }
+
+    private static int bucket(long frameNs) {
+        return (int) Math.min(BUCKETS - 1, Math.max(0, frameNs / BUCKET_NS));
+    }
+}
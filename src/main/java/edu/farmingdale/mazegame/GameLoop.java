@@ -0,0 +1,166 @@
+package edu.farmingdale.mazegame;
+
+import javafx.animation.AnimationTimer;
+
+import edu.farmingdale.mazegame.events.FrameEvent;
+
+import java.util.Arrays;
+
+/**
+ * The game's only AnimationTimer. Simulation advances in fixed ticks of
+ * {@link #TICK_SECONDS} from an accumulator, so movement and timers come out
+ * the same at any frame rate; views then render once per pulse, interpolated
+ * between the last two ticks.
+ *
+ * Each tick runs the phases in declaration order, and the ticks within a
+ * phase in the order they were added. Everything here runs on the FX thread.
+ */
+public final class GameLoop {
+
+    public static final double TICK_SECONDS = 1.0 / 120.0;
+    /** Frames longer than this (a stall, a dragged window) are clamped, as the old per-timer clamps did. */
+    private static final double MAX_FRAME_SECONDS = 0.05;
+
+    private static GameLoop shared;
+
+    /** Order in which each tick's work is dispatched. */
+    public enum Phase {
+        /** Record the state views interpolate from, before anything moves. */
+        SNAPSHOT,
+        /** Player input on the active level. */
+        PLAYER,
+        /** Auto-solve animations. */
+        AUTO_SOLVE,
+        /** Level timers and other bookkeeping that reads the new positions. */
+        TIMERS
+    }
+
+    @FunctionalInterface
+    public interface Tick {
+        void tick(double dt);
+    }
+
+    @FunctionalInterface
+    public interface View {
+        /** {@code alpha} in [0, 1) is how far the pulse is between the previous and the latest tick. */
+        void render(double alpha);
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    // Copy-on-write arrays indexed by phase ordinal: a tick may add or remove work
+    // (an animation ending) mid-dispatch, and dispatch itself allocates nothing.
+    private final Tick[][] ticks = new Tick[PHASES.length][];
+    private View[] views = new View[0];
+    private final AnimationTimer timer;
+    private final FrameStats stats = new FrameStats();
+    private long lastPulseNs;
+    private double accumulator;
+    private long tickCount;
+
+    private GameLoop() {
+        Arrays.fill(ticks, new Tick[0]);
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse(now);
+            }
+        };
+    }
+
+    /** The loop every Maze and the app share. Must be called on the FX thread. */
+    public static GameLoop shared() {
+        if (shared == null) {
+            shared = new GameLoop();
+        }
+        return shared;
+    }
+
+    public void start() {
+        lastPulseNs = 0;
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    /** Adds {@code tick} to a phase; the returned handle removes it again. */
+    public Runnable add(Phase phase, Tick tick) {
+        int index = phase.ordinal();
+        ticks[index] = appended(ticks[index], tick);
+        return () -> ticks[index] = removed(ticks[index], tick);
+    }
+
+    /** Adds a view rendered once per pulse; the returned handle removes it again. */
+    public Runnable addView(View view) {
+        views = appended(views, view);
+        return () -> views = removed(views, view);
+    }
+
+    /** Fixed ticks run since the loop was created. */
+    public long getTickCount() { return tickCount; }
+
+    /** Timing of recent pulses, for the performance HUD. */
+    FrameStats stats() { return stats; }
+
+    /** Timestamp the last pulse was handed, in the AnimationTimer's nanoseconds. */
+    long getLastPulseNs() { return lastPulseNs; }
+
+    private void pulse(long now) {
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        long simulationStart = System.nanoTime();
+        long ticksBefore = tickCount;
+        long frameNs = lastPulseNs != 0 ? now - lastPulseNs : 0;
+        if (lastPulseNs != 0) {
+            accumulator += Math.min((now - lastPulseNs) / 1_000_000_000.0, MAX_FRAME_SECONDS);
+            while (accumulator >= TICK_SECONDS) {
+                for (Phase phase : PHASES) {
+                    for (Tick tick : ticks[phase.ordinal()]) {
+                        tick.tick(TICK_SECONDS);
+                    }
+                }
+                accumulator -= TICK_SECONDS;
+                tickCount++;
+            }
+        }
+        lastPulseNs = now;
+
+        long drawStart = System.nanoTime();
+        double alpha = accumulator / TICK_SECONDS;
+        for (View view : views) {
+            view.render(alpha);
+        }
+        long drawEnd = System.nanoTime();
+        if (frameNs > 0) {
+            stats.record(frameNs, drawStart - simulationStart, drawEnd - drawStart);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.ticks = (int) (tickCount - ticksBefore);
+            event.simulationTime = drawStart - simulationStart;
+            event.drawTime = drawEnd - drawStart;
+            event.commit();
+        }
+    }
+
+    private static <T> T[] appended(T[] array, T element) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = element;
+        return copy;
+    }
+
+    /** Drops the first occurrence of {@code element}, as List.remove did; unknown elements leave the array as is. */
+    private static <T> T[] removed(T[] array, T element) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(element)) {
+                T[] copy = Arrays.copyOf(array, array.length - 1);
+                System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                return copy;
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,110 @@
+package edu.farmingdale.mazegame;
+
+import javafx.scene.image.Image;
+
+import edu.farmingdale.mazegame.core.CompiledLevel;
+import edu.farmingdale.mazegame.core.MazeLevel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads bundled levels in the background, one at a time as they are asked
+ * for, and keeps every decoded resource image so it is decoded only once.
+ *
+ * Each level is compiled to a {@link CompiledLevel} file in the level cache
+ * ({@code ~/.mazegame/levels}, or the {@code mazegame.levelCache} system
+ * property) the first time it loads. Later runs map that file instead of
+ * classifying the image, as long as neither the image bytes nor the level
+ * rules ({@link MazeLevel#RULES_VERSION}) have changed.
+ *
+ * Loading stops at the toolkit-independent part (image decode, grid, level
+ * layout); the Maze itself draws sprites and must be built on the FX thread.
+ */
+final class LevelLoader {
+
+    private static final ExecutorService LOAD_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+    private static final Path LEVEL_CACHE = Path.of(System.getProperty("mazegame.levelCache",
+            Path.of(System.getProperty("user.home"), ".mazegame", "levels").toString()));
+
+    /** A level ready to be wrapped in a Maze, with the image it is drawn from. */
+    record LoadedLevel(MazeLevel level, Image image) {
+    }
+
+    private final String playerFileName;
+    private final Map<String, CompletableFuture<LoadedLevel>> levels = new ConcurrentHashMap<>();
+
+    /** {@code playerFileName} is decoded alongside the first level; null for the car. */
+    LevelLoader(String playerFileName) {
+        this.playerFileName = playerFileName;
+    }
+
+    /**
+     * Starts loading a level, or returns the load already started for it.
+     * Safe to call just to preload: nothing is built until the future is used.
+     */
+    CompletableFuture<LoadedLevel> load(String mazeFileName) {
+        return levels.computeIfAbsent(mazeFileName, file -> CompletableFuture.supplyAsync(() -> {
+            Image image = image(file);
+            MazeLevel level = loadLevel(file, image);
+            if (playerFileName != null) {
+                image(playerFileName);
+            }
+            return new LoadedLevel(level, image);
+        }, LOAD_EXECUTOR));
+    }
+
+    /**
+     * Maps the level's compiled file when it matches the image; otherwise
+     * classifies the decoded image and writes a fresh compiled file.
+     */
+    private static MazeLevel loadLevel(String file, Image image) {
+        long checksum;
+        try (InputStream in = openResource(file)) {
+            checksum = CompiledLevel.checksum(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Path compiled = LEVEL_CACHE.resolve(CompiledLevel.fileNameFor(file));
+        if (Files.isRegularFile(compiled)) {
+            try {
+                return CompiledLevel.read(compiled, checksum);
+            } catch (IOException e) {
+                System.err.println("Recompiling " + file + ": " + e.getMessage());
+            }
+        }
+
+        MazeLevel level = new MazeLevel(file, Maze.readGrid(image, MazeLevel.isChallengerFile(file)));
+        // Written before the level is handed out, while spawn is still the spawn.
+        try {
+            Files.createDirectories(LEVEL_CACHE);
+            CompiledLevel.write(level, checksum, compiled, true);
+        } catch (IOException e) {
+            System.err.println("Could not cache " + file + ": " + e.getMessage());
+        }
+        return level;
+    }
+
+    /** Decodes a resource image on first use and shares it afterwards. */
+    static Image image(String resourceName) {
+        return IMAGES.computeIfAbsent(resourceName, name -> new Image(openResource(name)));
+    }
+
+    private static InputStream openResource(String name) {
+        InputStream in = LevelLoader.class.getResourceAsStream("/" + name);
+        if (in == null) {
+            throw new RuntimeException(name + " not found in resources!");
+        }
+        return in;
+    }
+}
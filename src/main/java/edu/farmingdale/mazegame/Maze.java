@@ -1,188 +1,253 @@
 package edu.farmingdale.mazegame;
 
-import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 
-import java.io.InputStream;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import edu.farmingdale.mazegame.core.Crowd;
+import edu.farmingdale.mazegame.core.MazeGrid;
+import edu.farmingdale.mazegame.core.MazeLevel;
+import edu.farmingdale.mazegame.core.MazeSolver;
+import edu.farmingdale.mazegame.core.PathRuns;
+import edu.farmingdale.mazegame.core.SolverStrategy;
+import edu.farmingdale.mazegame.events.CollisionBatchEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 public class Maze {
 
-    // =========================================================
-    // HARDCODED SPAWN AND END LOCATIONS
-    // Change these values to move the start/end markers.
-    // =========================================================
-
-    // Maze 1
-    private static final double MAZE1_SPAWN_X = 25;
-    private static final double MAZE1_SPAWN_Y = 265;
-    private static final double MAZE1_END_X = 580;
-    private static final double MAZE1_END_Y = 250;
-
-    // Maze 2
-    private static final double MAZE2_SPAWN_X = 25;
-    private static final double MAZE2_SPAWN_Y = 20;
-    private static final double MAZE2_END_X = 440;
-    private static final double MAZE2_END_Y = 310;
-
-    // Maze 3
-    private static final double MAZE3_SPAWN_X = 490;
-    private static final double MAZE3_SPAWN_Y = 30;
-    private static final double MAZE3_END_X = 715;
-    private static final double MAZE3_END_Y = 820;
-
-    // =========================================================
-
     private static final double AUTO_PIXELS_PER_SECOND = 120.0;
-    private static final String CHALLENGER_FILE = "challenger.png";
-    private static final double DEFAULT_PLAYER_SIZE = 20;
-    private static final double CHALLENGER_PLAYER_SIZE = 12;
-    private static final double DEFAULT_MOVE_SPEED = 140.0;
-    private static final double CHALLENGER_MOVE_SPEED = 55.0;
-    private static final double DEFAULT_DISPLAY_SCALE = 1.0;
-    private static final double CHALLENGER_DISPLAY_SCALE = 0.68;
-    // Set these to real values in challenger.png pixel coordinates.
-    // Use -1 to fall back to auto-detecting blue/red circle centers.
-    private static final double CHALLENGER_SPAWN_X = -1;
-    private static final double CHALLENGER_SPAWN_Y = -1;
-    private static final double CHALLENGER_END_X = -1;
-    private static final double CHALLENGER_END_Y = -1;
-
-    private final Canvas canvas;
-    private final GraphicsContext gc;
+    private static final ExecutorService SOLVE_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int STRIPE_ROWS = 64;
+    private static final int CROWD_COLOR = 0xFFFF6F00;
+    private static final int CROWD_BAND_ROWS = 16;
+
+    private final Canvas backgroundCanvas;
+    private final Canvas spriteCanvas;
+    private final GraphicsContext spriteGc;
     private final Image mazeImage;
+    private final MazeLevel level;
+    private final MazeSolver solver;
     private Image robotImage;
     private Car car;
-    private double playerX;
-    private double playerY;
-    private double endX;
-    private double endY;
     private final double playerSize;
     private final double displayScale;
-    private final int stepSize = 4;
+    private final int stepSize;
     private final Pane pane;
-    private final boolean challengerLevel;
-    private AnimationTimer autoTimer;
+    private AutoDrive autoDrive;
+    private Future<?> solveTask;
     private boolean showEndPoint = false;
+    private boolean smoothPaths = true;
     private boolean wonShown = false;
+    // Canvas-pixel box {x, y, w, h} of the last sprite drawn; empty until the first draw.
+    private final double[] spriteBox = new double[4];
+    // Image-pixel bounds {minX, minY, maxX, maxY} drawSprite works out before scaling.
+    private final double[] spriteBounds = new double[4];
+    // Player position at the start of the current tick, and where the sprite was last drawn.
+    private double prevX;
+    private double prevY;
+    private double drawnX = Double.NaN;
+    private double drawnY = Double.NaN;
+    private boolean spriteDirty;
+    private int frameCollisionSweeps;
+    // Crowd mode: agents are dots written into one image the size of the maze image.
+    private Crowd crowd;
+    private Future<?> crowdTask;
+    private Runnable removeCrowdTick;
+    private boolean crowdDirty;
+    private WritableImage crowdImage;
+    private int[] crowdPixels;
+    // Top-left of each agent's dot as last drawn, {x, y} per agent; x is -1 if not drawn.
+    private int[] crowdDrawn;
+    // Per band of CROWD_BAND_ROWS image rows, the columns [left, right) changed since the last upload.
+    private int[] crowdBandLeft;
+    private int[] crowdBandRight;
+    private ImageView crowdView;
 
     public Maze(String mazeFileName, String playerFileName) {
-        InputStream mazeStream = getClass().getResourceAsStream("/" + mazeFileName);
-        if (mazeStream == null) {
-            throw new RuntimeException(mazeFileName + " not found in resources!");
-        }
-        mazeImage = new Image(mazeStream);
-
-        challengerLevel = CHALLENGER_FILE.equals(mazeFileName);
-        playerSize = challengerLevel ? CHALLENGER_PLAYER_SIZE : DEFAULT_PLAYER_SIZE;
-        displayScale = challengerLevel ? CHALLENGER_DISPLAY_SCALE : DEFAULT_DISPLAY_SCALE;
+        this(LevelLoader.image(mazeFileName), mazeFileName, playerFileName);
+    }
 
-        canvas = new Canvas(mazeImage.getWidth() * displayScale, mazeImage.getHeight() * displayScale);
-        gc = canvas.getGraphicsContext2D();
+    private Maze(Image mazeImage, String mazeFileName, String playerFileName) {
+        this(new MazeLevel(mazeFileName, readGrid(mazeImage, MazeLevel.isChallengerFile(mazeFileName))),
+                mazeImage, playerFileName);
+    }
 
-        StackPane centeredPane = new StackPane(canvas);
+    /** Wraps an already loaded level; {@code mazeImage} is what gets drawn. */
+    public Maze(MazeLevel level, Image mazeImage, String playerFileName) {
+        this.level = level;
+        this.mazeImage = mazeImage;
+        solver = level.getSolver();
+        playerSize = level.getPlayerSize();
+        displayScale = level.getDisplayScale();
+        stepSize = level.getStepSize();
+
+        // The maze and end marker sit on a background layer painted only when they
+        // change; the player lives on a transparent layer above it.
+        double canvasWidth = mazeImage.getWidth() * displayScale;
+        double canvasHeight = mazeImage.getHeight() * displayScale;
+        backgroundCanvas = new Canvas(canvasWidth, canvasHeight);
+        spriteCanvas = new Canvas(canvasWidth, canvasHeight);
+        spriteGc = spriteCanvas.getGraphicsContext2D();
+
+        StackPane centeredPane = new StackPane(backgroundCanvas, spriteCanvas);
         centeredPane.setAlignment(Pos.CENTER);
         pane = centeredPane;
 
-        if (mazeFileName.equals("maze.png")) {
-            playerX = MAZE1_SPAWN_X;
-            playerY = MAZE1_SPAWN_Y;
-            endX = MAZE1_END_X;
-            endY = MAZE1_END_Y;
-        } else if (mazeFileName.equals("maze2.png")) {
-            playerX = MAZE2_SPAWN_X;
-            playerY = MAZE2_SPAWN_Y;
-            endX = MAZE2_END_X;
-            endY = MAZE2_END_Y;
-        } else if (mazeFileName.equals("maze3.png")) {
-            playerX = MAZE3_SPAWN_X;
-            playerY = MAZE3_SPAWN_Y;
-            endX = MAZE3_END_X;
-            endY = MAZE3_END_Y;
-        } else if (challengerLevel) {
-            setChallengerSpawnAndEnd();
-        } else {
-            throw new IllegalArgumentException("Unsupported maze file: " + mazeFileName);
-        }
+        // The exit never moves, so one reverse BFS from it serves every later solve.
+        solver.setStrategy(SolverStrategy.DISTANCE_FIELD);
+        int exitX = (int) level.getEndX();
+        int exitY = (int) level.getEndY();
+        SOLVE_EXECUTOR.submit(() -> solver.distanceFieldTo(exitX, exitY));
 
         if (playerFileName != null) {
-            InputStream rs = getClass().getResourceAsStream("/" + playerFileName);
-            if (rs == null) {
-                throw new RuntimeException(playerFileName + " not found in resources!");
-            }
-            robotImage = new Image(rs);
+            robotImage = LevelLoader.image(playerFileName);
         } else {
-            car = new Car(playerX, playerY, playerSize, playerSize / 2);
+            car = new Car(level.getPlayerX(), level.getPlayerY(), playerSize, playerSize / 2);
+            car.setRenderScale(displayScale);
         }
 
-        draw();
+        // Moves only update the level; the shared game loop draws once per pulse.
+        prevX = level.getPlayerX();
+        prevY = level.getPlayerY();
+        GameLoop loop = GameLoop.shared();
+        loop.add(GameLoop.Phase.SNAPSHOT, dt -> snapshot());
+        loop.addView(this::render);
+
+        drawBackground();
+        drawPlayer(prevX, prevY);
+    }
+
+    /**
+     * Loads a maze image from disk (for example one written by the generator),
+     * laid out from its sidecar properties as in {@link MazeLevel#load(Path)}.
+     */
+    public static Maze fromFile(Path mazeFile, String playerFileName) throws IOException {
+        Image image = new Image(mazeFile.toUri().toString());
+        if (image.isError()) {
+            throw new IOException("Could not decode " + mazeFile);
+        }
+        MazeLevel level = MazeLevel.load(mazeFile, challenger -> readGrid(image, challenger));
+        return new Maze(level, image, playerFileName);
+    }
+
+    /** Classifies the decoded image in row stripes with bulk getPixels reads. Safe off the FX thread. */
+    static MazeGrid readGrid(Image image, boolean challengerLevel) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        MazeGrid grid = new MazeGrid(width, height, challengerLevel);
+        PixelReader reader = image.getPixelReader();
+        int[] stripe = new int[width * Math.min(STRIPE_ROWS, Math.max(1, height))];
+
+        for (int y = 0; y < height; y += STRIPE_ROWS) {
+            int rows = Math.min(STRIPE_ROWS, height - y);
+            reader.getPixels(0, y, width, rows, PixelFormat.getIntArgbInstance(), stripe, 0, width);
+            grid.classifyRows(stripe, y, rows);
+        }
+        return grid;
     }
 
     public Pane getPane() { return pane; }
     public Image getMazeImage() { return mazeImage; }
-    public double getPlayerX() { return playerX; }
-    public double getPlayerY() { return playerY; }
-    public double getEndX() { return endX; }
-    public double getEndY() { return endY; }
+    public MazeLevel getLevel() { return level; }
+    public double getPlayerX() { return level.getPlayerX(); }
+    public double getPlayerY() { return level.getPlayerY(); }
+    public double getEndX() { return level.getEndX(); }
+    public double getEndY() { return level.getEndY(); }
     public int getStepSize() { return stepSize; }
     public int getPlayerSize() { return (int) playerSize; }
-    public double getMoveSpeedPxPerSecond() { return challengerLevel ? CHALLENGER_MOVE_SPEED : DEFAULT_MOVE_SPEED; }
+    public double getMoveSpeedPxPerSecond() { return level.getMoveSpeedPxPerSecond(); }
     public boolean isCompleted() { return wonShown; }
+    public SolverStrategy getSolverStrategy() { return solver.getStrategy(); }
+    public void setSolverStrategy(SolverStrategy strategy) { solver.setStrategy(strategy); }
+    /** Nodes expanded by the most recent auto-solve, for comparing strategies. */
+    public int getLastExpandedNodes() { return solver.getLastExpandedNodes(); }
+    /** Wall time of the most recent auto-solve in nanoseconds. */
+    public long getLastSolveNanos() { return solver.getLastSolveNanos(); }
+    /** Player collision sweeps run in the ticks drawn by the last frame. */
+    public int getFrameCollisionSweeps() { return frameCollisionSweeps; }
+
+    /** Whether auto-solve paths are straightened into any-angle segments before driving. */
+    public boolean isSmoothPaths() { return smoothPaths; }
+    public void setSmoothPaths(boolean smoothPaths) { this.smoothPaths = smoothPaths; }
+
+    /** Walking distance from the player to the exit in pixels, or -1 if not known yet. */
+    public int getDistanceToExit() { return level.getDistanceToExit(); }
 
     public void setShowEndMarker(boolean show) {
         this.showEndPoint = show;
-        draw();
+        drawBackground();
     }
 
     /**
      * Creates a standalone clone canvas showing the current maze + player state.
      */
     public Canvas createCloneCanvas() {
-        Canvas clone = new Canvas(mazeImage.getWidth() * displayScale, mazeImage.getHeight() * displayScale);
-        drawOnto(clone.getGraphicsContext2D(), playerX, playerY);
+        Canvas clone = new Canvas(backgroundCanvas.getWidth(), backgroundCanvas.getHeight());
+        drawFullFrame(clone.getGraphicsContext2D(), level.getPlayerX(), level.getPlayerY(), new double[4]);
         return clone;
     }
 
     /**
-     * Runs BFS from the current player position and animates on the provided clone canvas.
+     * Solves from the current player position and animates on the provided clone canvas.
      * Never modifies playerX/playerY or the original pane.
      */
     public void autoSolveOnCanvas(Canvas cloneCanvas, Runnable onDone) {
-        stopAuto();
+        autoSolveOnCanvas(cloneCanvas, solver.getStrategy(), null, onDone);
+    }
 
-        GraphicsContext cgc = cloneCanvas.getGraphicsContext2D();
-        MazeSolver solver = new MazeSolver(mazeImage, stepSize, (int) playerSize, challengerLevel);
-        double liveStartX = playerX;
-        double liveStartY = playerY;
-        int[] start = resolveAutoStart(playerX, playerY);
-        List<int[]> path = solver.solve(start[0], start[1], (int) endX, (int) endY);
-
-        if (path.isEmpty()) {
-            System.out.println("Auto-solve: no path from (" + (int) playerX + "," + (int) playerY + ")");
+    /**
+     * Same as {@link #autoSolveOnCanvas(Canvas, Runnable)} with an explicit strategy.
+     * The search runs in the background; {@code onSolved} fires on the FX thread
+     * when the path is ready and the animation starts.
+     */
+    public void autoSolveOnCanvas(Canvas cloneCanvas, SolverStrategy strategy, Runnable onSolved, Runnable onDone) {
+        autoSolveOnCanvas(cloneCanvas, strategy, onSolved, onDone, error -> {
             if (onDone != null) {
                 onDone.run();
             }
-            return;
-        }
+        });
+    }
 
-        startAutoAnimation(path, liveStartX, liveStartY, (x, y, dx, dy) -> {
-            if (car != null) {
-                car.setPosition(x, y);
-                car.updateAngle(dx, dy);
+    /** Same as above, but a search that throws ends in {@code onFailed} instead of {@code onDone}. */
+    public void autoSolveOnCanvas(Canvas cloneCanvas, SolverStrategy strategy, Runnable onSolved, Runnable onDone,
+                                  Consumer<Throwable> onFailed) {
+        GraphicsContext cgc = cloneCanvas.getGraphicsContext2D();
+        double liveStartX = level.getPlayerX();
+        double liveStartY = level.getPlayerY();
+        int[] start = level.resolveAutoStart(liveStartX, liveStartY);
+
+        solveInBackground(start, strategy, path -> {
+            if (path.isEmpty()) {
+                System.out.println("Auto-solve: no path from (" + (int) liveStartX + "," + (int) liveStartY + ")");
+                if (onDone != null) {
+                    onDone.run();
+                }
+                return;
+            }
+            if (onSolved != null) {
+                onSolved.run();
             }
-            drawOnto(cgc, x, y);
-        }, onDone);
+
+            autoDrive = new AutoDrive(path, liveStartX, liveStartY, cgc, onDone);
+        }, onFailed);
     }
 
     // -----------------------------------------------------------------------
@@ -193,425 +258,357 @@ public class Maze {
         moveRobotBy(dx * stepSize, dy * stepSize);
     }
 
-    public void moveRobotBy(double dx, double dy) {
-        if (challengerLevel) {
-            moveRobotByChallenger(dx, dy);
-            return;
-        }
-
-        double appliedDx = 0;
-        double appliedDy = 0;
-
-        if (dx != 0) {
-            double nextX = playerX + dx;
-            if (canMoveTo(nextX, playerY)) {
-                playerX = nextX;
-                appliedDx = dx;
-            }
-        }
-
-        if (dy != 0) {
-            double nextY = playerY + dy;
-            if (canMoveTo(playerX, nextY)) {
-                playerY = nextY;
-                appliedDy = dy;
-            }
-        }
-
-        if (appliedDx != 0 || appliedDy != 0) {
-            if (car != null) {
-                car.setPosition(playerX, playerY);
-                car.updateAngle(appliedDx, appliedDy);
-            }
-            draw();
-            showWinIfReached();
-        }
+    /** Puts the player at (x, y) without moving there, as a replay does before its first tick. */
+    public void setPlayerPosition(double x, double y) {
+        level.setPlayerPosition(x, y);
+        prevX = x;
+        prevY = y;
+        spriteDirty = true;
     }
 
-    private void moveRobotByChallenger(double dx, double dy) {
-        double startX = playerX;
-        double startY = playerY;
-        double remainingX = Math.abs(dx);
-        double remainingY = Math.abs(dy);
-        double dirX = Math.signum(dx);
-        double dirY = Math.signum(dy);
-
-        while (remainingX > 0.0001 || remainingY > 0.0001) {
-            double stepX = remainingX > 0 ? dirX * Math.min(1.0, remainingX) : 0;
-            double stepY = remainingY > 0 ? dirY * Math.min(1.0, remainingY) : 0;
-            boolean movedThisStep = false;
-
-            if (stepX != 0 && canMoveTo(playerX + stepX, playerY)) {
-                playerX += stepX;
-                movedThisStep = true;
-            }
-            if (stepY != 0 && canMoveTo(playerX, playerY + stepY)) {
-                playerY += stepY;
-                movedThisStep = true;
-            }
-
-            remainingX = Math.max(0, remainingX - Math.abs(stepX));
-            remainingY = Math.max(0, remainingY - Math.abs(stepY));
-
-            if (!movedThisStep) {
-                break;
-            }
-        }
-
-        // If the player got into an invalid pixel seam, relocate to the nearest safe tile.
-        if (!canMoveTo(playerX, playerY)) {
-            double[] corrected = findNearestWalkablePoint(playerX, playerY);
-            playerX = corrected[0];
-            playerY = corrected[1];
-        }
-
-        double appliedDx = playerX - startX;
-        double appliedDy = playerY - startY;
-        if (appliedDx != 0 || appliedDy != 0) {
+    public void moveRobotBy(double dx, double dy) {
+        if (level.moveBy(dx, dy)) {
             if (car != null) {
-                car.setPosition(playerX, playerY);
-                car.updateAngle(appliedDx, appliedDy);
+                car.updateAngle(level.getLastMoveDx(), level.getLastMoveDy());
             }
-            draw();
+            spriteDirty = true;
             showWinIfReached();
         }
     }
 
     // -----------------------------------------------------------------------
-    // Auto-solve: BFS from current player position
+    // Auto-solve from current player position
     // -----------------------------------------------------------------------
 
     public void autoSolve(Runnable onDone) {
-        stopAuto();
+        autoSolve(solver.getStrategy(), onDone);
+    }
 
-        MazeSolver solver = new MazeSolver(mazeImage, stepSize, (int) playerSize, challengerLevel);
-        int[] start = resolveAutoStart(playerX, playerY);
-        List<int[]> path = solver.solve(start[0], start[1], (int) endX, (int) endY);
+    public void autoSolve(SolverStrategy strategy, Runnable onDone) {
+        int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
 
-        if (path.isEmpty()) {
-            System.out.println("Auto-solve: no path found from current position (" + (int) playerX + "," + (int) playerY + ")");
-            if (onDone != null) {
-                onDone.run();
+        solveInBackground(start, strategy, path -> {
+            if (path.isEmpty()) {
+                System.out.println("Auto-solve: no path found from current position (" + (int) level.getPlayerX() + "," + (int) level.getPlayerY() + ")");
+                if (onDone != null) {
+                    onDone.run();
+                }
+                return;
             }
-            return;
-        }
 
-        startAutoAnimation(path, start[0], start[1], (x, y, dx, dy) -> {
-            playerX = x;
-            playerY = y;
-            if (car != null) {
-                car.setPosition(playerX, playerY);
-                car.updateAngle(dx, dy);
+            autoDrive = new AutoDrive(path, start[0], start[1], null, onDone);
+        }, error -> {
+            if (onDone != null) {
+                onDone.run();
             }
-            draw();
-            showWinIfReached();
-        }, onDone);
+        });
     }
 
-    /** Stops any running auto-solve animation. */
+    /** Cancels a pending background solve and stops any running auto-solve animation. */
     public void stopAuto() {
-        if (autoTimer != null) {
-            autoTimer.stop();
-            autoTimer = null;
+        if (solveTask != null) {
+            solveTask.cancel(true);
+            solveTask = null;
+        }
+        if (autoDrive != null) {
+            autoDrive.stop();
+            autoDrive = null;
         }
     }
 
-    private interface AutoStepRenderer {
-        void render(double x, double y, double dx, double dy);
+    /** True while an auto-solve is moving the live player (not a clone canvas). */
+    public boolean isAutoDrivingPlayer() {
+        return autoDrive != null && autoDrive.cloneGc == null;
     }
 
-    private void startAutoAnimation(List<int[]> path, double startX, double startY,
-                                    AutoStepRenderer renderer, Runnable onDone) {
-        double[] x = {startX};
-        double[] y = {startY};
-        int[] idx = {0};
-        long[] lastNs = {0L};
+    /** True while a background solve is still searching. */
+    public boolean isSolving() {
+        return solveTask != null;
+    }
 
-        autoTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                if (idx[0] >= path.size()) {
-                    stopAuto();
-                    if (onDone != null) {
-                        onDone.run();
-                    }
+    /**
+     * Runs the solver off the FX thread and hands the path back on it. Must be
+     * called from the FX thread; a later stopAuto() or solve discards the result.
+     * If the search throws, the error is printed and passed to {@code onFailed}.
+     */
+    private void solveInBackground(int[] start, SolverStrategy strategy, Consumer<PathRuns> onSolved,
+                                   Consumer<Throwable> onFailed) {
+        stopAuto();
+
+        int goalX = (int) level.getEndX();
+        int goalY = (int) level.getEndY();
+        boolean smooth = smoothPaths;
+        Future<?>[] task = new Future<?>[1];
+        task[0] = SOLVE_EXECUTOR.submit(() -> {
+            PathRuns path;
+            try {
+                PathRuns solved = solver.solveRuns(start[0], start[1], goalX, goalY, strategy);
+                path = smooth ? solver.smooth(solved) : solved;
+            } catch (Throwable e) {
+                // A Future keeps what its task throws, and nobody reads this one.
+                if (Thread.currentThread().isInterrupted()) {
                     return;
                 }
-
-                if (lastNs[0] == 0L) {
-                    lastNs[0] = now;
+                System.err.println("Auto-solve on " + level.getName() + " failed:");
+                e.printStackTrace();
+                Platform.runLater(() -> {
+                    if (solveTask != task[0]) {
+                        return;
+                    }
+                    solveTask = null;
+                    onFailed.accept(e);
+                });
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Platform.runLater(() -> {
+                // runLater cannot run before this handler returns, so task[0] is set.
+                if (solveTask != task[0]) {
                     return;
                 }
+                solveTask = null;
+                onSolved.accept(path);
+            });
+        });
+        solveTask = task[0];
+    }
 
-                double dt = (now - lastNs[0]) / 1_000_000_000.0;
-                lastNs[0] = now;
-                if (dt > 0.05) {
-                    dt = 0.05;
+    /**
+     * One auto-solve animation, moved along its path by the game loop at
+     * AUTO_PIXELS_PER_SECOND. It drives either the live player or, given a
+     * clone canvas, its own position drawn only on that canvas.
+     */
+    private final class AutoDrive {
+        private final PathRuns.Cursor cursor;
+        private final GraphicsContext cloneGc;
+        private final Runnable onDone;
+        private final Runnable removeTick;
+        private double x;
+        private double y;
+        private double prevX;
+        private double prevY;
+        private double drawnX = Double.NaN;
+        private double drawnY = Double.NaN;
+        // The clone is a single canvas, so moves repaint the background under the old box.
+        private final double[] cloneBox = new double[4];
+
+        private AutoDrive(PathRuns path, double startX, double startY, GraphicsContext cloneGc, Runnable onDone) {
+            this.cursor = path.cursor(startX, startY);
+            this.cloneGc = cloneGc;
+            this.onDone = onDone;
+            x = prevX = startX;
+            y = prevY = startY;
+            if (cloneGc != null) {
+                if (car != null) {
+                    car.setPosition(startX, startY);
                 }
+                drawFullFrame(cloneGc, startX, startY, cloneBox);
+                drawnX = startX;
+                drawnY = startY;
+            }
+            removeTick = GameLoop.shared().add(GameLoop.Phase.AUTO_SOLVE, this::tick);
+        }
 
-                double remaining = AUTO_PIXELS_PER_SECOND * dt;
-                double prevX = x[0];
-                double prevY = y[0];
-
-                while (remaining > 0 && idx[0] < path.size()) {
-                    int[] target = path.get(idx[0]);
-                    double dx = target[0] - x[0];
-                    double dy = target[1] - y[0];
-                    double dist = Math.hypot(dx, dy);
-
-                    if (dist < 1e-6) {
-                        idx[0]++;
-                        continue;
-                    }
-
-                    if (remaining >= dist) {
-                        x[0] = target[0];
-                        y[0] = target[1];
-                        remaining -= dist;
-                        idx[0]++;
-                    } else {
-                        x[0] += (dx / dist) * remaining;
-                        y[0] += (dy / dist) * remaining;
-                        remaining = 0;
-                    }
-                }
+        private void tick(double dt) {
+            double startX = x;
+            double startY = y;
+            cursor.advance(AUTO_PIXELS_PER_SECOND * dt);
+            x = cursor.getX();
+            y = cursor.getY();
 
-                renderer.render(x[0], y[0], x[0] - prevX, y[0] - prevY);
+            if (car != null) {
+                car.faceToward(x - startX, y - startY);
+            }
+            if (cloneGc == null) {
+                level.setPlayerPosition(x, y);
+                spriteDirty = true;
+                showWinIfReached();
+            }
 
-                if (idx[0] >= path.size()) {
-                    stopAuto();
-                    if (onDone != null) {
-                        onDone.run();
-                    }
+            if (cursor.isDone()) {
+                // Stays attached to the maze so the clone still gets its last frame drawn.
+                removeTick.run();
+                if (onDone != null) {
+                    onDone.run();
                 }
             }
-        };
-
-        autoTimer.start();
-    }
-
-    private int[] resolveAutoStart(double rawX, double rawY) {
-        int baseX = ((int) Math.round(rawX) / stepSize) * stepSize;
-        int baseY = ((int) Math.round(rawY) / stepSize) * stepSize;
+        }
 
-        if (canMoveTo(baseX, baseY)) {
-            return new int[]{baseX, baseY};
+        private void snapshot() {
+            prevX = x;
+            prevY = y;
         }
 
-        int maxRadius = stepSize * 8;
-        for (int r = stepSize; r <= maxRadius; r += stepSize) {
-            for (int dx = -r; dx <= r; dx += stepSize) {
-                int topY = baseY - r;
-                int bottomY = baseY + r;
-                int x = baseX + dx;
-                if (canMoveTo(x, topY)) return new int[]{x, topY};
-                if (canMoveTo(x, bottomY)) return new int[]{x, bottomY};
+        private void renderClone(double alpha) {
+            double rx = prevX + (x - prevX) * alpha;
+            double ry = prevY + (y - prevY) * alpha;
+            if (rx == drawnX && ry == drawnY) {
+                return;
             }
-            for (int dy = -r + stepSize; dy <= r - stepSize; dy += stepSize) {
-                int leftX = baseX - r;
-                int rightX = baseX + r;
-                int y = baseY + dy;
-                if (canMoveTo(leftX, y)) return new int[]{leftX, y};
-                if (canMoveTo(rightX, y)) return new int[]{rightX, y};
+            if (car != null) {
+                car.setPosition(rx, ry);
             }
+            restoreBackground(cloneGc, cloneBox);
+            drawSprite(cloneGc, rx, ry, cloneBox);
+            drawnX = rx;
+            drawnY = ry;
         }
 
-        return new int[]{(int) Math.round(rawX), (int) Math.round(rawY)};
+        private void stop() {
+            removeTick.run();
+        }
     }
 
-    private void setChallengerSpawnAndEnd() {
-        boolean hasSpawnOverride = CHALLENGER_SPAWN_X >= 0 && CHALLENGER_SPAWN_Y >= 0;
-        boolean hasEndOverride = CHALLENGER_END_X >= 0 && CHALLENGER_END_Y >= 0;
-        if (hasSpawnOverride && hasEndOverride) {
-            playerX = clampToBounds(CHALLENGER_SPAWN_X, mazeImage.getWidth() - playerSize);
-            playerY = clampToBounds(CHALLENGER_SPAWN_Y, mazeImage.getHeight() - playerSize);
-            endX = clampToBounds(CHALLENGER_END_X, mazeImage.getWidth() - playerSize);
-            endY = clampToBounds(CHALLENGER_END_Y, mazeImage.getHeight() - playerSize);
+    // -----------------------------------------------------------------------
+    // Crowd mode
+    // -----------------------------------------------------------------------
+
+    /**
+     * Spawns {@code agents} agents at random open cells, all racing to the
+     * exit, in place of any crowd already running; 0 just removes it. The
+     * crowd is spawned in the background and shows up on the next pulse after.
+     */
+    public void startCrowd(int agents) {
+        stopCrowd();
+        if (agents <= 0) {
             return;
         }
+        long seed = System.nanoTime();
+        Future<?>[] task = new Future<?>[1];
+        task[0] = SOLVE_EXECUTOR.submit(() -> {
+            Crowd spawned = new Crowd(level, agents, AUTO_PIXELS_PER_SECOND, seed);
+            Platform.runLater(() -> {
+                if (crowdTask != task[0]) {
+                    return;
+                }
+                crowdTask = null;
+                showCrowd(spawned);
+            });
+        });
+        crowdTask = task[0];
+    }
 
-        PixelReader reader = mazeImage.getPixelReader();
-        List<double[]> blueCenters = findMarkerCenters(reader, true);
-        List<double[]> redCenters = findMarkerCenters(reader, false);
-        redCenters.sort(Comparator.comparingDouble(center -> center[1]));
-
-        if (hasSpawnOverride) {
-            playerX = clampToBounds(CHALLENGER_SPAWN_X, mazeImage.getWidth() - playerSize);
-            playerY = clampToBounds(CHALLENGER_SPAWN_Y, mazeImage.getHeight() - playerSize);
-        } else if (!blueCenters.isEmpty()) {
-            double[] blueCenter = blueCenters.get(0);
-            playerX = clampToBounds(blueCenter[0] - playerSize / 2, mazeImage.getWidth() - playerSize);
-            playerY = clampToBounds(blueCenter[1] - playerSize / 2, mazeImage.getHeight() - playerSize);
-        } else if (!redCenters.isEmpty()) {
-            // If only red markers exist, top red is spawn.
-            double[] topRed = redCenters.get(0);
-            playerX = clampToBounds(topRed[0] - playerSize / 2, mazeImage.getWidth() - playerSize);
-            playerY = clampToBounds(topRed[1] - playerSize / 2, mazeImage.getHeight() - playerSize);
-        } else {
-            playerX = 20;
-            playerY = 20;
+    public void stopCrowd() {
+        if (crowdTask != null) {
+            crowdTask.cancel(true);
+            crowdTask = null;
         }
-
-        if (hasEndOverride) {
-            endX = clampToBounds(CHALLENGER_END_X, mazeImage.getWidth() - playerSize);
-            endY = clampToBounds(CHALLENGER_END_Y, mazeImage.getHeight() - playerSize);
-        } else {
-            // Challenger exit is always the nearest walkable point at the bottom-right area.
-            double[] bottomRightExit = findBottomRightWalkablePoint();
-            endX = bottomRightExit[0];
-            endY = bottomRightExit[1];
+        if (removeCrowdTick != null) {
+            removeCrowdTick.run();
+            removeCrowdTick = null;
+        }
+        crowd = null;
+        if (crowdView != null) {
+            crowdView.setVisible(false);
         }
-
-        double[] correctedSpawn = findNearestWalkablePoint(playerX, playerY);
-        playerX = correctedSpawn[0];
-        playerY = correctedSpawn[1];
     }
 
-    private double[] findBottomRightWalkablePoint() {
-        int maxX = (int) (mazeImage.getWidth() - playerSize - 1);
-        int maxY = (int) (mazeImage.getHeight() - playerSize - 1);
-        int snappedX = (maxX / stepSize) * stepSize;
-        int snappedY = (maxY / stepSize) * stepSize;
-
-        if (canMoveTo(snappedX, snappedY)) {
-            return new double[]{snappedX, snappedY};
+    /** The running crowd, or null. */
+    public Crowd getCrowd() { return crowd; }
+
+    private void showCrowd(Crowd spawned) {
+        if (crowdView == null) {
+            int width = (int) mazeImage.getWidth();
+            int height = (int) mazeImage.getHeight();
+            crowdImage = new WritableImage(width, height);
+            crowdPixels = new int[width * height];
+            int bands = (height + CROWD_BAND_ROWS - 1) / CROWD_BAND_ROWS;
+            crowdBandLeft = new int[bands];
+            crowdBandRight = new int[bands];
+            Arrays.fill(crowdBandLeft, Integer.MAX_VALUE);
+            crowdView = new ImageView(crowdImage);
+            crowdView.setFitWidth(backgroundCanvas.getWidth());
+            crowdView.setFitHeight(backgroundCanvas.getHeight());
+            crowdView.setSmooth(false);
+            crowdView.setMouseTransparent(true);
+            // Between the maze and the player.
+            pane.getChildren().add(1, crowdView);
         }
-
-        int maxRadius = Math.max((int) mazeImage.getWidth(), (int) mazeImage.getHeight());
-        for (int r = stepSize; r <= maxRadius; r += stepSize) {
-            for (int dx = 0; dx <= r; dx += stepSize) {
-                int x = snappedX - dx;
-                int y = snappedY - (r - dx);
-                if (x >= 0 && y >= 0 && canMoveTo(x, y)) {
-                    return new double[]{x, y};
-                }
+        // A new crowd starts from a clear image; afterwards only the agents' boxes are touched.
+        Arrays.fill(crowdPixels, 0);
+        crowdImage.getPixelWriter().setPixels(0, 0, (int) crowdImage.getWidth(), (int) crowdImage.getHeight(),
+                PixelFormat.getIntArgbInstance(), crowdPixels, 0, (int) crowdImage.getWidth());
+        crowdDrawn = new int[2 * spawned.size()];
+        Arrays.fill(crowdDrawn, -1);
+        crowd = spawned;
+        crowdDirty = true;
+        crowdView.setVisible(true);
+        removeCrowdTick = GameLoop.shared().add(GameLoop.Phase.AUTO_SOLVE, dt -> {
+            spawned.step(dt);
+            crowdDirty = true;
+            if (spawned.isFinished()) {
+                removeCrowdTick.run();
+                removeCrowdTick = null;
             }
-        }
-
-        return new double[]{Math.max(0, snappedX), Math.max(0, snappedY)};
+        });
     }
 
-    private double[] findNearestWalkablePoint(double rawX, double rawY) {
-        int baseX = ((int) Math.round(rawX) / stepSize) * stepSize;
-        int baseY = ((int) Math.round(rawY) / stepSize) * stepSize;
-
-        if (canMoveTo(baseX, baseY)) {
-            return new double[]{baseX, baseY};
+    /**
+     * Moves every agent's dot to its latest position in the pixel buffer: last
+     * frame's dots are cleared and the new ones drawn. Each band of
+     * CROWD_BAND_ROWS rows then uploads only the columns that changed in it,
+     * so the cost follows the agents rather than the level size.
+     */
+    private void renderCrowd() {
+        int width = (int) crowdImage.getWidth();
+        int height = (int) crowdImage.getHeight();
+        int dot = (int) Math.max(2, playerSize / 3);
+        double offset = (playerSize - dot) / 2.0;
+        int n = crowd.size();
+
+        // All old dots go before any new one is drawn, so overlapping agents stay visible.
+        for (int i = 0; i < n; i++) {
+            int left = crowdDrawn[2 * i];
+            if (left >= 0) {
+                paintCrowdBox(width, height, left, crowdDrawn[2 * i + 1], dot, 0);
+                crowdDrawn[2 * i] = -1;
+            }
         }
-
-        int maxRadius = Math.max((int) mazeImage.getWidth(), (int) mazeImage.getHeight());
-        for (int r = stepSize; r <= maxRadius; r += stepSize) {
-            for (int dx = -r; dx <= r; dx += stepSize) {
-                int topY = baseY - r;
-                int bottomY = baseY + r;
-                int x = baseX + dx;
-                if (x >= 0 && topY >= 0 && x < mazeImage.getWidth() && topY < mazeImage.getHeight() && canMoveTo(x, topY)) {
-                    return new double[]{x, topY};
-                }
-                if (x >= 0 && bottomY >= 0 && x < mazeImage.getWidth() && bottomY < mazeImage.getHeight() && canMoveTo(x, bottomY)) {
-                    return new double[]{x, bottomY};
-                }
+        for (int i = 0; i < n; i++) {
+            if (crowd.hasArrived(i)) {
+                continue;
             }
-            for (int dy = -r + stepSize; dy <= r - stepSize; dy += stepSize) {
-                int leftX = baseX - r;
-                int rightX = baseX + r;
-                int y = baseY + dy;
-                if (leftX >= 0 && y >= 0 && leftX < mazeImage.getWidth() && y < mazeImage.getHeight() && canMoveTo(leftX, y)) {
-                    return new double[]{leftX, y};
-                }
-                if (rightX >= 0 && y >= 0 && rightX < mazeImage.getWidth() && y < mazeImage.getHeight() && canMoveTo(rightX, y)) {
-                    return new double[]{rightX, y};
-                }
+            int left = Math.max(0, (int) (crowd.getX(i) + offset));
+            int top = Math.max(0, (int) (crowd.getY(i) + offset));
+            if (left < width && top < height) {
+                paintCrowdBox(width, height, left, top, dot, CROWD_COLOR);
+                crowdDrawn[2 * i] = left;
+                crowdDrawn[2 * i + 1] = top;
             }
         }
 
-        return new double[]{Math.max(0, baseX), Math.max(0, baseY)};
-    }
-
-    private List<double[]> findMarkerCenters(PixelReader reader, boolean blueMarker) {
-        int width = (int) mazeImage.getWidth();
-        int height = (int) mazeImage.getHeight();
-        boolean[][] visited = new boolean[height][width];
-        List<double[]> centers = new ArrayList<>();
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (visited[y][x]) {
-                    continue;
-                }
-                Color c = reader.getColor(x, y);
-                boolean marker = blueMarker ? isBlueMarker(c) : isRedMarker(c);
-                if (marker) {
-                    double[] center = floodFillMarkerCenter(reader, visited, x, y, blueMarker);
-                    if (center != null) {
-                        centers.add(center);
-                    }
-                } else {
-                    visited[y][x] = true;
-                }
+        PixelWriter writer = crowdImage.getPixelWriter();
+        for (int band = 0; band < crowdBandLeft.length; band++) {
+            int left = crowdBandLeft[band];
+            int right = crowdBandRight[band];
+            if (left < right) {
+                int top = band * CROWD_BAND_ROWS;
+                writer.setPixels(left, top, right - left, Math.min(CROWD_BAND_ROWS, height - top),
+                        PixelFormat.getIntArgbInstance(), crowdPixels, top * width + left, width);
+                crowdBandLeft[band] = Integer.MAX_VALUE;
+                crowdBandRight[band] = 0;
             }
         }
-
-        return centers;
+        crowdDirty = false;
     }
 
-    private double[] floodFillMarkerCenter(PixelReader reader, boolean[][] visited, int startX, int startY, boolean blueMarker) {
-        int width = (int) mazeImage.getWidth();
-        int height = (int) mazeImage.getHeight();
-        ArrayDeque<int[]> queue = new ArrayDeque<>();
-        queue.add(new int[]{startX, startY});
-        visited[startY][startX] = true;
-
-        double sumX = 0;
-        double sumY = 0;
-        int count = 0;
-        int[][] dirs = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-
-        while (!queue.isEmpty()) {
-            int[] cur = queue.poll();
-            int cx = cur[0];
-            int cy = cur[1];
-            sumX += cx;
-            sumY += cy;
-            count++;
-
-            for (int[] d : dirs) {
-                int nx = cx + d[0];
-                int ny = cy + d[1];
-                if (nx < 0 || ny < 0 || nx >= width || ny >= height || visited[ny][nx]) {
-                    continue;
-                }
-                Color neighbor = reader.getColor(nx, ny);
-                boolean marker = blueMarker ? isBlueMarker(neighbor) : isRedMarker(neighbor);
-                if (marker) {
-                    visited[ny][nx] = true;
-                    queue.add(new int[]{nx, ny});
-                } else {
-                    visited[ny][nx] = true;
-                }
-            }
+    /** Fills a dot's box, clipped to the image, and widens the dirty columns of the bands it covers. */
+    private void paintCrowdBox(int width, int height, int left, int top, int dot, int argb) {
+        int right = Math.min(width, left + dot);
+        int bottom = Math.min(height, top + dot);
+        for (int y = top; y < bottom; y++) {
+            Arrays.fill(crowdPixels, y * width + left, y * width + right, argb);
         }
-
-        if (count == 0) {
-            return null;
+        for (int band = top / CROWD_BAND_ROWS; band <= (bottom - 1) / CROWD_BAND_ROWS; band++) {
+            crowdBandLeft[band] = Math.min(crowdBandLeft[band], left);
+            crowdBandRight[band] = Math.max(crowdBandRight[band], right);
         }
-        return new double[]{sumX / count, sumY / count};
-    }
-
-    private double clampToBounds(double value, double max) {
-        return Math.max(0, Math.min(value, max));
-    }
-
-    private boolean isBlueMarker(Color color) {
-        return color.getBlue() > 0.6 && color.getRed() < 0.35 && color.getGreen() < 0.55;
-    }
-
-    private boolean isRedMarker(Color color) {
-        return color.getRed() > 0.6 && color.getGreen() < 0.35 && color.getBlue() < 0.35;
     }
 
     private void showWinIfReached() {
-        if (wonShown || !isAtEnd()) {
+        if (wonShown || !level.isAtEnd()) {
             return;
         }
 
@@ -623,91 +620,145 @@ public class Maze {
         alert.show();
     }
 
-    private boolean isAtEnd() {
-        double playerCenterX = playerX + (playerSize / 2.0);
-        double playerCenterY = playerY + (playerSize / 2.0);
-        double endCenterX = endX + (playerSize / 2.0);
-        double endCenterY = endY + (playerSize / 2.0);
-        double distance = Math.hypot(playerCenterX - endCenterX, playerCenterY - endCenterY);
-        return distance <= Math.max(6, playerSize * 0.7);
-    }
-
     // -----------------------------------------------------------------------
     // Drawing
     // -----------------------------------------------------------------------
 
-    private void draw() {
-        drawOnto(gc, playerX, playerY);
+    /** Repaints the background layer: the maze image and, if shown, the end marker. */
+    private void drawBackground() {
+        paintBackground(backgroundCanvas.getGraphicsContext2D());
+    }
+
+    private void snapshot() {
+        prevX = level.getPlayerX();
+        prevY = level.getPlayerY();
+        if (autoDrive != null) {
+            autoDrive.snapshot();
+        }
+    }
+
+    /** Draws the live player, interpolated between the last two ticks, any clone animation and the crowd. */
+    private void render(double alpha) {
+        commitCollisionBatch();
+        double x = prevX + (level.getPlayerX() - prevX) * alpha;
+        double y = prevY + (level.getPlayerY() - prevY) * alpha;
+        if (spriteDirty || x != drawnX || y != drawnY) {
+            drawPlayer(x, y);
+        }
+        if (autoDrive != null && autoDrive.cloneGc != null) {
+            autoDrive.renderClone(alpha);
+        }
+        if (crowd != null && crowdDirty) {
+            renderCrowd();
+        }
     }
 
-    /** Draws the maze image, end marker, and player at (px, py) onto any GraphicsContext. */
-    private void drawOnto(GraphicsContext target, double px, double py) {
-        target.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    /** Takes the player's collision sweeps since the last frame for the HUD, and reports them to JFR. */
+    private void commitCollisionBatch() {
+        int sweeps = level.takeCollisionSweeps();
+        frameCollisionSweeps = sweeps;
+        if (sweeps == 0) {
+            return;
+        }
+        CollisionBatchEvent event = new CollisionBatchEvent();
+        if (event.shouldCommit()) {
+            event.level = level.getName();
+            event.sweeps = sweeps;
+            event.commit();
+        }
+    }
+
+    /**
+     * Moves the player on the sprite layer. Only the previous box holds sprite
+     * pixels, so clearing it is enough; the rest of the layer stays transparent.
+     */
+    private void drawPlayer(double x, double y) {
+        spriteGc.clearRect(spriteBox[0], spriteBox[1], spriteBox[2], spriteBox[3]);
+        if (car != null) {
+            car.setPosition(x, y);
+        }
+        drawSprite(spriteGc, x, y, spriteBox);
+        drawnX = x;
+        drawnY = y;
+        spriteDirty = false;
+    }
+
+    /** Draws the maze image, end marker, and player at (px, py) onto a single canvas; {@code box} as for drawSprite. */
+    private void drawFullFrame(GraphicsContext target, double px, double py, double[] box) {
+        paintBackground(target);
+        drawSprite(target, px, py, box);
+    }
+
+    private void paintBackground(GraphicsContext target) {
+        target.clearRect(0, 0, backgroundCanvas.getWidth(), backgroundCanvas.getHeight());
         target.save();
         target.scale(displayScale, displayScale);
         target.drawImage(mazeImage, 0, 0);
+        drawEndMarker(target);
+        target.restore();
+    }
 
-        if (showEndPoint) {
-            target.setFill(Color.LIMEGREEN);
-            target.fillOval(endX, endY, playerSize, playerSize);
-            target.setStroke(Color.DARKGREEN);
-            target.setLineWidth(2);
-            target.strokeOval(endX, endY, playerSize, playerSize);
+    /** Repaints the maze and end marker inside {@code box} (canvas pixels) of a single-canvas view. */
+    private void restoreBackground(GraphicsContext target, double[] box) {
+        double sx = Math.max(0, box[0] / displayScale);
+        double sy = Math.max(0, box[1] / displayScale);
+        double sw = Math.min(mazeImage.getWidth(), (box[0] + box[2]) / displayScale) - sx;
+        double sh = Math.min(mazeImage.getHeight(), (box[1] + box[3]) / displayScale) - sy;
+        if (sw <= 0 || sh <= 0) {
+            return;
         }
 
+        target.save();
+        target.beginPath();
+        target.rect(box[0], box[1], box[2], box[3]);
+        target.clip();
+        target.clearRect(box[0], box[1], box[2], box[3]);
+        target.scale(displayScale, displayScale);
+        target.drawImage(mazeImage, sx, sy, sw, sh, sx, sy, sw, sh);
+        drawEndMarker(target);
+        target.restore();
+    }
+
+    /** Draws the player at (px, py) and writes the canvas-pixel box {x, y, w, h} it covers into {@code box}. */
+    private void drawSprite(GraphicsContext target, double px, double py, double[] box) {
+        target.save();
+        target.scale(displayScale, displayScale);
         if (robotImage != null) {
             target.drawImage(robotImage, px, py, playerSize, playerSize);
         } else if (car != null) {
             car.draw(target);
         }
         target.restore();
-    }
 
-    // -----------------------------------------------------------------------
-    // Collision
-    // -----------------------------------------------------------------------
-
-    private boolean canMoveTo(double x, double y) {
-        double hitboxInset = challengerLevel ? 2.0 : 0.0;
-        double left = x + hitboxInset;
-        double top = y + hitboxInset;
-        double right = x + playerSize - 1 - hitboxInset;
-        double bottom = y + playerSize - 1 - hitboxInset;
-
-        if (left < 0 || top < 0 ||
-                right >= mazeImage.getWidth() ||
-                bottom >= mazeImage.getHeight()) {
-            return false;
-        }
-
-        PixelReader reader = mazeImage.getPixelReader();
-        double[][] points = {
-                {left, top},
-                {right, top},
-                {left, bottom},
-                {right, bottom},
-                {(left + right) / 2.0, (top + bottom) / 2.0}
-        };
-
-        for (double[] pt : points) {
-            if (!isWalkable(reader, (int) pt[0], (int) pt[1])) {
-                return false;
-            }
+        double[] bounds = spriteBounds;
+        if (car != null && robotImage == null) {
+            car.boundsAt(px, py, bounds);
+        } else {
+            bounds[0] = px;
+            bounds[1] = py;
+            bounds[2] = px + playerSize;
+            bounds[3] = py + playerSize;
         }
-        return true;
+        // Whole pixels plus one, so anti-aliased edges are inside the box too.
+        double left = Math.floor(bounds[0] * displayScale) - 1;
+        double top = Math.floor(bounds[1] * displayScale) - 1;
+        double right = Math.ceil(bounds[2] * displayScale) + 1;
+        double bottom = Math.ceil(bounds[3] * displayScale) + 1;
+        box[0] = left;
+        box[1] = top;
+        box[2] = right - left;
+        box[3] = bottom - top;
     }
 
-    private boolean isWalkable(PixelReader reader, int px, int py) {
-        try {
-            Color color = reader.getColor(px, py);
-            boolean isWhite = color.getRed() > 0.85 && color.getGreen() > 0.85 && color.getBlue() > 0.85;
-            boolean isOrange = color.getRed() > 0.6 && color.getGreen() > 0.1 && color.getGreen() < 0.8 && color.getBlue() < 0.15;
-            boolean isPurple = color.getRed() > 0.3 && color.getRed() < 0.8 && color.getGreen() < 0.2 && color.getBlue() > 0.3;
-            boolean isChallengerMarker = challengerLevel && (isBlueMarker(color) || isRedMarker(color));
-            boolean isChallengerPathShade = challengerLevel && color.getBrightness() > 0.78;
-            return isWhite || isOrange || isPurple || isChallengerMarker || isChallengerPathShade;
-        } catch (Exception e) {
-            return false;
+    /** Expects a context already scaled to image coordinates. */
+    private void drawEndMarker(GraphicsContext target) {
+        if (!showEndPoint) {
+            return;
         }
+        target.setFill(Color.LIMEGREEN);
+        target.fillOval(level.getEndX(), level.getEndY(), playerSize, playerSize);
+        target.setStroke(Color.DARKGREEN);
+        target.setLineWidth(2);
+        target.strokeOval(level.getEndX(), level.getEndY(), playerSize, playerSize);
     }
 }
@@ -1,13 +1,15 @@
 package edu.farmingdale.mazegame;
 
-import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
@@ -23,32 +25,58 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
+import edu.farmingdale.mazegame.core.InputRecording;
+import edu.farmingdale.mazegame.core.SolverStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 public class MazeApp extends Application {
 
-    private Maze maze1;
-    private Maze maze2;
-    private Maze maze3;
-    private Maze maze4;
+    private static final String[] LEVEL_FILES = {"maze.png", "maze2.png", "maze3.png", "challenger.png"};
+    private static final String[] LEVEL_NAMES = {"Maze 1", "Maze 2", "Maze 3", "Challenger"};
+    private static final String[] CROWD_SIZES = {"Off", "50", "500", "5000", "50000"};
+    private static final Path REPLAY_DIR = Path.of(System.getProperty("user.home"), ".mazegame", "replays");
+
+    // Levels are built the first time they are needed; unopened ones stay null.
+    private final Maze[] mazes = new Maze[LEVEL_FILES.length];
     private boolean useCar = false;
+    private String playerFile;
+    private LevelLoader levelLoader;
     private TabPane tabPane;
+    private Tab[] levelTabs;
     private Tab autoTab;
     private final java.util.Set<KeyCode> pressedKeys = java.util.EnumSet.noneOf(KeyCode.class);
-    private AnimationTimer movementTimer;
-    private AnimationTimer uiTimer;
-    private long lastFrameNs;
-
-    private LevelTimer level1Timer;
-    private LevelTimer level2Timer;
-    private LevelTimer level3Timer;
-    private LevelTimer challengerTimer;
-
+    private Runnable removeMovement;
+    private Runnable removeTimers;
+    private Runnable removeReadouts;
+
+    private final LevelTimer[] levelTimers = new LevelTimer[LEVEL_FILES.length];
+    private final ExitReadout[] exitReadouts = new ExitReadout[LEVEL_FILES.length];
+    private final PerformanceHud[] levelHuds = new PerformanceHud[LEVEL_FILES.length];
+    private final Label[] recordingLabels = new Label[LEVEL_FILES.length];
+    private final PerformanceHud autoHud = new PerformanceHud();
+    private boolean hudShown;
+    private final double[] moveDirection = new double[2];
+    private InputRecording.Writer recorder;
+    private int recordingLevel;
+    private InputRecording.Reader replay;
+    private int replayLevel;
+    private Path lastRecording;
+
+    /** Level stopwatch counting simulation time, so it agrees with the fixed-tick movement. */
     private static class LevelTimer {
         private final Label label;
         private final Button startButton;
         private final Button stopButton;
         private final Maze maze;
-        private long startNs;
         private long elapsedNs;
+        private long shownTenths = -1;
         private boolean running;
         private boolean started;
 
@@ -57,11 +85,10 @@ public class MazeApp extends Application {
             this.startButton = startButton;
             this.stopButton = stopButton;
             this.maze = maze;
-            this.startNs = 0L;
             this.elapsedNs = 0L;
             this.running = false;
             this.started = false;
-            updateLabel(0L);
+            updateLabel();
 
             this.startButton.setOnAction(e -> start());
             this.stopButton.setOnAction(e -> stop());
@@ -74,7 +101,6 @@ public class MazeApp extends Application {
             }
             started = true;
             running = true;
-            startNs = System.nanoTime();
             startButton.setDisable(true);
             stopButton.setDisable(false);
         }
@@ -83,36 +109,54 @@ public class MazeApp extends Application {
             if (!running) {
                 return;
             }
-            elapsedNs += (System.nanoTime() - startNs);
             running = false;
             stopButton.setDisable(true);
-            updateLabel(elapsedNs);
+            updateLabel();
         }
 
-        private void tick(long nowNs) {
-            if (!started) {
-                updateLabel(elapsedNs);
+        private void tick(double dt) {
+            if (!running) {
                 return;
             }
-            if (running) {
-                if (maze.isCompleted()) {
-                    elapsedNs += (nowNs - startNs);
-                    running = false;
-                    stopButton.setDisable(true);
-                } else {
-                    updateLabel(elapsedNs + (nowNs - startNs));
-                    return;
-                }
+            if (maze.isCompleted()) {
+                running = false;
+                stopButton.setDisable(true);
+                return;
             }
-            updateLabel(elapsedNs);
+            elapsedNs += Math.round(dt * 1_000_000_000.0);
         }
 
-        private void updateLabel(long totalNs) {
-            long totalMs = totalNs / 1_000_000L;
+        private void updateLabel() {
+            long totalMs = elapsedNs / 1_000_000L;
+            long tenths = totalMs / 100L;
+            if (tenths == shownTenths) {
+                return;
+            }
+            shownTenths = tenths;
             long minutes = totalMs / 60_000L;
             long seconds = (totalMs % 60_000L) / 1000L;
-            long tenths = (totalMs % 1000L) / 100L;
-            label.setText(String.format("Time: %02d:%02d.%d", minutes, seconds, tenths));
+            label.setText(String.format("Time: %02d:%02d.%d", minutes, seconds, tenths % 10));
+        }
+    }
+
+    /** Live "distance to exit" label, read from the maze's cached exit distance field. */
+    private static class ExitReadout {
+        private final Label label;
+        private final Maze maze;
+        private int shownDistance = Integer.MIN_VALUE;
+
+        private ExitReadout(Label label, Maze maze) {
+            this.label = label;
+            this.maze = maze;
+        }
+
+        private void tick() {
+            int distance = maze.getDistanceToExit();
+            if (distance == shownDistance) {
+                return;
+            }
+            shownDistance = distance;
+            label.setText(distance < 0 ? "Exit: --" : "Exit: " + distance + " px");
         }
     }
 
@@ -159,64 +203,126 @@ public class MazeApp extends Application {
     }
 
     private void initMazes(Stage stage) {
-        String playerFile = useCar ? null : "robot.png";
-
-        maze1 = new Maze("maze.png", playerFile);
-        maze2 = new Maze("maze2.png", playerFile);
-        maze3 = new Maze("maze3.png", playerFile);
-        maze4 = new Maze("challenger.png", playerFile);
-
-        Label timer1Label = createTimerLabel();
-        Label timer2Label = createTimerLabel();
-        Label timer3Label = createTimerLabel();
-        Label timer4Label = createTimerLabel();
-        Button timer1Start = createTimerStartButton();
-        Button timer2Start = createTimerStartButton();
-        Button timer3Start = createTimerStartButton();
-        Button timer4Start = createTimerStartButton();
-        Button timer1Stop = createTimerStopButton();
-        Button timer2Stop = createTimerStopButton();
-        Button timer3Stop = createTimerStopButton();
-        Button timer4Stop = createTimerStopButton();
-
-        level1Timer = new LevelTimer(timer1Label, timer1Start, timer1Stop, maze1);
-        level2Timer = new LevelTimer(timer2Label, timer2Start, timer2Stop, maze2);
-        level3Timer = new LevelTimer(timer3Label, timer3Start, timer3Stop, maze3);
-        challengerTimer = new LevelTimer(timer4Label, timer4Start, timer4Stop, maze4);
-
-        Tab tab1 = new Tab("Maze 1", buildLevelPane(maze1.getPane(), buildTimerRow(timer1Label, timer1Start, timer1Stop)));
-        Tab tab2 = new Tab("Maze 2", buildLevelPane(maze2.getPane(), buildTimerRow(timer2Label, timer2Start, timer2Stop)));
-        Tab tab3 = new Tab("Maze 3", buildLevelPane(maze3.getPane(), buildTimerRow(timer3Label, timer3Start, timer3Stop)));
-        Tab tab4 = new Tab("Challenger", buildLevelPane(maze4.getPane(), buildTimerRow(timer4Label, timer4Start, timer4Stop)));
-        tab1.setClosable(false);
-        tab2.setClosable(false);
-        tab3.setClosable(false);
-        tab4.setClosable(false);
-        tab4.setStyle("-fx-background-color: #e53935;");
+        playerFile = useCar ? null : "robot.png";
+        levelLoader = new LevelLoader(playerFile);
+
+        levelTabs = new Tab[LEVEL_FILES.length];
+        for (int i = 0; i < LEVEL_FILES.length; i++) {
+            levelTabs[i] = new Tab(LEVEL_NAMES[i], buildLoadingPane());
+            levelTabs[i].setClosable(false);
+        }
+        Tab challengerTab = levelTabs[3];
+        challengerTab.setStyle("-fx-background-color: #e53935;");
         Label challengerLabel = new Label("Challenger");
         challengerLabel.setTextFill(Color.BLACK);
         challengerLabel.setStyle("-fx-font-weight: bold;");
-        tab4.setText("");
-        tab4.setGraphic(challengerLabel);
+        challengerTab.setText("");
+        challengerTab.setGraphic(challengerLabel);
 
         autoTab = new Tab("Auto-Complete");
         autoTab.setClosable(false);
         autoTab.setDisable(true);
 
-        tabPane = new TabPane(tab1, tab2, tab3, tab4, autoTab);
+        tabPane = new TabPane(levelTabs);
+        tabPane.getTabs().add(autoTab);
+        tabPane.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> {
+            int index = levelIndex(newTab);
+            if (index >= 0) {
+                openLevel(index);
+            }
+        });
         autoTab.setContent(buildAutoPane());
 
         autoTab.setDisable(false);
 
         Scene mazeScene = new Scene(tabPane, 1200, 1000);
-        setupSmoothMovement(mazeScene, tab1, tab2, tab3, tab4);
+        setupSmoothMovement(mazeScene);
+        setupHudToggle(mazeScene);
+        setupRecording(mazeScene);
         setupTimers();
 
-        tabPane.getSelectionModel().select(tab1);
+        tabPane.getSelectionModel().select(levelTabs[0]);
+        openLevel(0);
         stage.setScene(mazeScene);
         stage.requestFocus();
     }
 
+    /** Shows a level (building it if needed) and starts loading the one after it. */
+    private void openLevel(int index) {
+        withMaze(index, maze -> { });
+        if (index + 1 < LEVEL_FILES.length) {
+            levelLoader.load(LEVEL_FILES[index + 1]);
+        }
+    }
+
+    /**
+     * Runs {@code action} on the FX thread with the level's Maze, loading it in
+     * the background and building its tab first if this is its first use.
+     */
+    private void withMaze(int index, Consumer<Maze> action) {
+        if (mazes[index] != null) {
+            action.accept(mazes[index]);
+            return;
+        }
+        levelLoader.load(LEVEL_FILES[index]).whenComplete((loaded, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                levelTabs[index].setContent(new Label("Could not load " + LEVEL_FILES[index] + ": " + cause.getMessage()));
+                return;
+            }
+            if (mazes[index] == null) {
+                buildLevel(index, new Maze(loaded.level(), loaded.image(), playerFile));
+            }
+            action.accept(mazes[index]);
+        }));
+    }
+
+    private void buildLevel(int index, Maze maze) {
+        mazes[index] = maze;
+        Label timerLabel = createTimerLabel();
+        Button timerStart = createTimerStartButton();
+        Button timerStop = createTimerStopButton();
+        Label exitLabel = createExitLabel();
+        levelTimers[index] = new LevelTimer(timerLabel, timerStart, timerStop, maze);
+        exitReadouts[index] = new ExitReadout(exitLabel, maze);
+        HBox timerRow = buildTimerRow(timerLabel, timerStart, timerStop, exitLabel);
+        timerRow.getChildren().addAll(new Label("Crowd:"), createCrowdSelector(maze));
+        recordingLabels[index] = createRecordingLabel();
+        timerRow.getChildren().add(recordingLabels[index]);
+        PerformanceHud hud = new PerformanceHud();
+        hud.setMaze(maze);
+        hud.setShown(hudShown);
+        levelHuds[index] = hud;
+        StackPane mazeLayer = new StackPane(maze.getPane(), hud.getNode());
+        levelTabs[index].setContent(buildLevelPane(mazeLayer, timerRow));
+    }
+
+    private ComboBox<String> createCrowdSelector(Maze maze) {
+        ComboBox<String> selector = new ComboBox<>();
+        selector.getItems().addAll(CROWD_SIZES);
+        selector.getSelectionModel().selectFirst();
+        selector.setStyle("-fx-font-size:12px;");
+        selector.setFocusTraversable(false);
+        selector.valueProperty().addListener((obs, oldValue, newValue) ->
+                maze.startCrowd(newValue.equals(CROWD_SIZES[0]) ? 0 : Integer.parseInt(newValue)));
+        return selector;
+    }
+
+    private Pane buildLoadingPane() {
+        StackPane pane = new StackPane(new ProgressIndicator());
+        pane.setAlignment(Pos.CENTER);
+        return pane;
+    }
+
+    private int levelIndex(Tab tab) {
+        for (int i = 0; i < levelTabs.length; i++) {
+            if (levelTabs[i] == tab) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private Label createTimerLabel() {
         Label label = new Label();
         label.setStyle("-fx-font-size:16px; -fx-font-weight:bold; -fx-text-fill:#1e2a38;");
@@ -235,8 +341,20 @@ public class MazeApp extends Application {
         return button;
     }
 
-    private HBox buildTimerRow(Label timerLabel, Button startButton, Button stopButton) {
-        HBox row = new HBox(10, timerLabel, startButton, stopButton);
+    private Label createExitLabel() {
+        Label label = new Label("Exit: --");
+        label.setStyle("-fx-font-size:13px; -fx-text-fill:#555;");
+        return label;
+    }
+
+    private Label createRecordingLabel() {
+        Label label = new Label();
+        label.setStyle("-fx-font-size:13px; -fx-font-weight:bold;");
+        return label;
+    }
+
+    private HBox buildTimerRow(Label timerLabel, Button startButton, Button stopButton, Label exitLabel) {
+        HBox row = new HBox(10, timerLabel, startButton, stopButton, exitLabel);
         row.setAlignment(Pos.CENTER_LEFT);
         return row;
     }
@@ -250,23 +368,41 @@ public class MazeApp extends Application {
     }
 
     private void setupTimers() {
-        if (uiTimer != null) {
-            uiTimer.stop();
+        if (removeTimers != null) {
+            removeTimers.run();
+            removeReadouts.run();
         }
 
-        uiTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                level1Timer.tick(now);
-                level2Timer.tick(now);
-                level3Timer.tick(now);
-                challengerTimer.tick(now);
+        GameLoop loop = GameLoop.shared();
+        removeTimers = loop.add(GameLoop.Phase.TIMERS, dt -> {
+            for (LevelTimer timer : levelTimers) {
+                if (timer != null) {
+                    timer.tick(dt);
+                }
             }
-        };
-        uiTimer.start();
+        });
+        removeReadouts = loop.addView(alpha -> {
+            for (LevelTimer timer : levelTimers) {
+                if (timer != null) {
+                    timer.updateLabel();
+                }
+            }
+            for (ExitReadout readout : exitReadouts) {
+                if (readout != null) {
+                    readout.tick();
+                }
+            }
+            for (PerformanceHud hud : levelHuds) {
+                if (hud != null) {
+                    hud.refresh();
+                }
+            }
+            autoHud.refresh();
+        });
+        loop.start();
     }
 
-    private void setupSmoothMovement(Scene scene, Tab tab1, Tab tab2, Tab tab3, Tab tab4) {
+    private void setupSmoothMovement(Scene scene) {
         scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
             KeyCode code = event.getCode();
             if (isArrow(code)) {
@@ -283,69 +419,223 @@ public class MazeApp extends Application {
             }
         });
 
-        if (movementTimer != null) {
-            movementTimer.stop();
+        if (removeMovement != null) {
+            removeMovement.run();
         }
 
-        lastFrameNs = 0;
-        movementTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                if (lastFrameNs == 0) {
-                    lastFrameNs = now;
-                    return;
-                }
+        removeMovement = GameLoop.shared().add(GameLoop.Phase.PLAYER, dt -> {
+            if (replay != null) {
+                replayTick(dt);
+                return;
+            }
+            int selected = levelIndex(tabPane.getSelectionModel().getSelectedItem());
+            Maze current = selected >= 0 ? mazes[selected] : null;
+            if (current == null) {
+                return;
+            }
 
-                double deltaSeconds = (now - lastFrameNs) / 1_000_000_000.0;
-                lastFrameNs = now;
-                if (deltaSeconds > 0.05) {
-                    deltaSeconds = 0.05;
-                }
+            int keys = heldKeys();
+            if (recorder != null) {
+                recordTick(selected, keys);
+            }
+            moveByKeys(current, keys, dt);
+        });
+    }
 
-                Tab selected = tabPane.getSelectionModel().getSelectedItem();
-                if (selected != tab1 && selected != tab2 && selected != tab3 && selected != tab4) {
-                    return;
-                }
+    private int heldKeys() {
+        int keys = 0;
+        if (pressedKeys.contains(KeyCode.LEFT)) {
+            keys |= InputRecording.LEFT;
+        }
+        if (pressedKeys.contains(KeyCode.RIGHT)) {
+            keys |= InputRecording.RIGHT;
+        }
+        if (pressedKeys.contains(KeyCode.UP)) {
+            keys |= InputRecording.UP;
+        }
+        if (pressedKeys.contains(KeyCode.DOWN)) {
+            keys |= InputRecording.DOWN;
+        }
+        return keys;
+    }
 
-                double dirX = 0;
-                double dirY = 0;
-                if (pressedKeys.contains(KeyCode.LEFT)) {
-                    dirX -= 1;
-                }
-                if (pressedKeys.contains(KeyCode.RIGHT)) {
-                    dirX += 1;
-                }
-                if (pressedKeys.contains(KeyCode.UP)) {
-                    dirY -= 1;
-                }
-                if (pressedKeys.contains(KeyCode.DOWN)) {
-                    dirY += 1;
-                }
+    /** One tick of movement; replays go through here too, so they move exactly as play did. */
+    private void moveByKeys(Maze maze, int keys, double dt) {
+        if (!InputRecording.direction(keys, moveDirection)) {
+            return;
+        }
+        double distance = maze.getMoveSpeedPxPerSecond() * dt;
+        maze.moveRobotBy(moveDirection[0] * distance, moveDirection[1] * distance);
+    }
 
-                if (dirX == 0 && dirY == 0) {
-                    return;
-                }
+    // -----------------------------------------------------------------------
+    // Input recording and replay
+    // -----------------------------------------------------------------------
 
-                double len = Math.hypot(dirX, dirY);
-                dirX /= len;
-                dirY /= len;
-
-                Maze current;
-                if (selected == tab1) {
-                    current = maze1;
-                } else if (selected == tab2) {
-                    current = maze2;
-                } else if (selected == tab3) {
-                    current = maze3;
+    /** F9 starts or stops recording the current level; F10 replays the last recording. */
+    private void setupRecording(Scene scene) {
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F9) {
+                if (recorder != null) {
+                    stopRecording();
                 } else {
-                    current = maze4;
+                    startRecording();
                 }
-                double distance = current.getMoveSpeedPxPerSecond() * deltaSeconds;
-                current.moveRobotBy(dirX * distance, dirY * distance);
+                event.consume();
+            } else if (event.getCode() == KeyCode.F10) {
+                if (replay != null) {
+                    stopReplay();
+                } else if (lastRecording != null) {
+                    startReplay(lastRecording);
+                }
+                event.consume();
             }
-        };
+        });
+    }
 
-        movementTimer.start();
+    private void startRecording() {
+        int selected = levelIndex(tabPane.getSelectionModel().getSelectedItem());
+        Maze maze = selected >= 0 ? mazes[selected] : null;
+        if (maze == null || replay != null) {
+            return;
+        }
+        if (maze.isAutoDrivingPlayer()) {
+            // Only keys are logged, so the recording has to start with the player under key control.
+            maze.stopAuto();
+        }
+        String level = LEVEL_FILES[selected];
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = REPLAY_DIR.resolve(level.substring(0, level.lastIndexOf('.')) + "-" + stamp + InputRecording.EXTENSION);
+        try {
+            Files.createDirectories(REPLAY_DIR);
+            recorder = new InputRecording.Writer(file, new InputRecording.Header(level, useCar, 0L,
+                    (int) Math.round(1.0 / GameLoop.TICK_SECONDS), maze.getPlayerX(), maze.getPlayerY()));
+        } catch (IOException e) {
+            System.err.println("Could not start recording " + file + ": " + e.getMessage());
+            showRecordingState(selected, "Could not start recording", Color.web("#e74c3c"));
+            return;
+        }
+        recordingLevel = selected;
+        lastRecording = file;
+        showRecordingState(selected, "\u25CF Recording (F9 stops)", Color.web("#e74c3c"));
+    }
+
+    private void recordTick(int selected, int keys) {
+        if (selected != recordingLevel) {
+            // A recording covers one level; switching tabs ends it.
+            stopRecording();
+            return;
+        }
+        if (mazes[selected].isAutoDrivingPlayer()) {
+            // Auto-solve moves run after this phase; ending here keeps them out of the log.
+            stopRecording();
+            showRecordingState(selected, "Recording ended: auto-solve took over", Color.web("#555"));
+            return;
+        }
+        try {
+            recorder.tick(keys);
+        } catch (IOException e) {
+            System.err.println("Recording stopped: " + e.getMessage());
+            stopRecording();
+        }
+    }
+
+    private void stopRecording() {
+        try {
+            recorder.close();
+            showRecordingState(recordingLevel, "Recorded " + recorder.getTicks() + " ticks (F10 replays)",
+                    Color.web("#555"));
+        } catch (IOException e) {
+            System.err.println("Could not finish recording " + lastRecording + ": " + e.getMessage());
+            showRecordingState(recordingLevel, "Recording failed", Color.web("#e74c3c"));
+        }
+        recorder = null;
+    }
+
+    /** Replays a recording in real time on its level, with the player put back where it started. */
+    private void startReplay(Path file) {
+        if (recorder != null) {
+            stopRecording();
+        }
+        InputRecording.Reader reader;
+        try {
+            reader = new InputRecording.Reader(file);
+        } catch (IOException e) {
+            System.err.println("Could not replay " + file + ": " + e.getMessage());
+            return;
+        }
+        InputRecording.Header header = reader.header();
+        int index = Arrays.asList(LEVEL_FILES).indexOf(header.level());
+        if (index < 0 || header.ticksPerSecond() != (int) Math.round(1.0 / GameLoop.TICK_SECONDS)) {
+            showRecordingState(levelIndex(tabPane.getSelectionModel().getSelectedItem()),
+                    "Cannot replay: recorded on " + header.level() + " at " + header.ticksPerSecond()
+                            + " ticks/s", Color.web("#e74c3c"));
+            closeQuietly(reader);
+            return;
+        }
+        tabPane.getSelectionModel().select(levelTabs[index]);
+        withMaze(index, maze -> {
+            maze.stopAuto();
+            maze.setPlayerPosition(header.startX(), header.startY());
+            replay = reader;
+            replayLevel = index;
+            showRecordingState(index, "\u25B6 Replaying (F10 stops)", Color.web("#2d89ef"));
+        });
+    }
+
+    private void replayTick(double dt) {
+        int keys;
+        try {
+            keys = replay.nextTick();
+        } catch (IOException e) {
+            System.err.println("Replay stopped: " + e.getMessage());
+            keys = -1;
+        }
+        if (keys < 0) {
+            stopReplay();
+            return;
+        }
+        moveByKeys(mazes[replayLevel], keys, dt);
+    }
+
+    private void stopReplay() {
+        showRecordingState(replayLevel, "Replay ended after " + replay.getTicks() + " ticks", Color.web("#555"));
+        closeQuietly(replay);
+        replay = null;
+    }
+
+    /** Shows recording and replay state next to the level's timer; set on changes only, never per tick. */
+    private void showRecordingState(int index, String text, Color color) {
+        Label label = index >= 0 ? recordingLabels[index] : null;
+        if (label != null) {
+            label.setText(text);
+            label.setTextFill(color);
+        }
+    }
+
+    private static void closeQuietly(InputRecording.Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            System.err.println("Could not close recording: " + e.getMessage());
+        }
+    }
+
+    /** F3 shows or hides the performance HUD on every level and the Auto-Complete view. */
+    private void setupHudToggle(Scene scene) {
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() != KeyCode.F3) {
+                return;
+            }
+            hudShown = !hudShown;
+            for (PerformanceHud hud : levelHuds) {
+                if (hud != null) {
+                    hud.setShown(hudShown);
+                }
+            }
+            autoHud.setShown(hudShown);
+            event.consume();
+        });
     }
 
     private boolean isArrow(KeyCode code) {
@@ -357,17 +647,30 @@ public class MazeApp extends Application {
         Label heading = new Label("Auto-Complete");
         heading.setFont(Font.font("Arial", FontWeight.BOLD, 15));
 
-        Label info = new Label("Select a maze to solve from its current player position.");
+        Label info = new Label("Select a maze to solve from its current player position. F3 toggles the performance HUD; F9 records a level, F10 replays it.");
         info.setStyle("-fx-text-fill:#555; -fx-font-size:12px;");
 
         ComboBox<String> mazeSelector = new ComboBox<>();
-        mazeSelector.getItems().addAll("Maze 1", "Maze 2", "Maze 3", "Challenger");
+        mazeSelector.getItems().addAll(LEVEL_NAMES);
         mazeSelector.getSelectionModel().selectFirst();
         mazeSelector.setStyle("-fx-font-size:13px;");
 
+        ComboBox<SolverStrategy> strategySelector = new ComboBox<>();
+        strategySelector.getItems().addAll(SolverStrategy.values());
+        strategySelector.setValue(SolverStrategy.DISTANCE_FIELD);
+        strategySelector.setStyle("-fx-font-size:13px;");
+
+        CheckBox smoothBox = new CheckBox("Smooth path");
+        smoothBox.setSelected(true);
+        smoothBox.setStyle("-fx-font-size:13px;");
+
         Label statusLabel = new Label("Press Solve to start.");
         statusLabel.setStyle("-fx-font-size:13px; -fx-text-fill:#333;");
 
+        ProgressIndicator solvingIndicator = new ProgressIndicator();
+        solvingIndicator.setPrefSize(18, 18);
+        solvingIndicator.setVisible(false);
+
         Button solveBtn = new Button("Solve");
         Button stopBtn = new Button("Stop");
 
@@ -375,20 +678,33 @@ public class MazeApp extends Application {
         stopBtn.setStyle("-fx-background-color:#e74c3c; -fx-text-fill:white; -fx-font-size:13px;");
         stopBtn.setDisable(true);
 
-        final Maze[] selectedMazeRef = {maze1};
-        final javafx.scene.canvas.Canvas[] cloneCanvasRef = {maze1.createCloneCanvas()};
-        StackPane clonePane = new StackPane(cloneCanvasRef[0]);
+        final Maze[] selectedMazeRef = {null};
+        final javafx.scene.canvas.Canvas[] cloneCanvasRef = {null};
+        StackPane clonePane = new StackPane();
         clonePane.setAlignment(Pos.CENTER);
 
         Runnable refreshClone = () -> {
             String selectedName = mazeSelector.getValue();
-            selectedMazeRef[0] = getMazeByName(selectedName);
-            cloneCanvasRef[0] = selectedMazeRef[0].createCloneCanvas();
-            clonePane.getChildren().setAll(cloneCanvasRef[0]);
-            statusLabel.setText(selectedName + " ready. Press Solve to start.");
+            selectedMazeRef[0] = null;
+            clonePane.getChildren().clear();
+            solvingIndicator.setVisible(true);
+            statusLabel.setText("Loading " + selectedName + "\u2026");
             statusLabel.setTextFill(Color.web("#333"));
-            solveBtn.setDisable(false);
+            solveBtn.setDisable(true);
             stopBtn.setDisable(true);
+
+            withMaze(getMazeIndexByName(selectedName), maze -> {
+                if (!selectedName.equals(mazeSelector.getValue())) {
+                    return;
+                }
+                selectedMazeRef[0] = maze;
+                cloneCanvasRef[0] = maze.createCloneCanvas();
+                autoHud.setMaze(maze);
+                clonePane.getChildren().setAll(cloneCanvasRef[0], autoHud.getNode());
+                solvingIndicator.setVisible(false);
+                statusLabel.setText(selectedName + " ready. Press Solve to start.");
+                solveBtn.setDisable(false);
+            });
         };
 
         mazeSelector.valueProperty().addListener((obs, oldValue, newValue) -> {
@@ -400,29 +716,46 @@ public class MazeApp extends Application {
             stopAllAuto();
             solveBtn.setDisable(true);
             stopBtn.setDisable(false);
-            statusLabel.setText("Solving...");
+            statusLabel.setText("Solving\u2026");
             statusLabel.setTextFill(Color.DARKORANGE);
-
-            selectedMazeRef[0].autoSolveOnCanvas(cloneCanvasRef[0], () -> {
+            solvingIndicator.setVisible(true);
+
+            Maze solving = selectedMazeRef[0];
+            SolverStrategy strategy = strategySelector.getValue();
+            solving.setSmoothPaths(smoothBox.isSelected());
+            solving.autoSolveOnCanvas(cloneCanvasRef[0], strategy, () -> {
+                solvingIndicator.setVisible(false);
+                statusLabel.setText("Path found (" + strategy + ": " + solving.getLastExpandedNodes() + " nodes expanded). Driving...");
+                statusLabel.setTextFill(Color.web("#2d89ef"));
+            }, () -> {
+                solvingIndicator.setVisible(false);
                 solveBtn.setDisable(false);
                 stopBtn.setDisable(true);
-                statusLabel.setText("Done!");
+                statusLabel.setText("Done! (" + strategy + ": " + solving.getLastExpandedNodes() + " nodes expanded)");
                 statusLabel.setTextFill(Color.GREEN);
+            }, error -> {
+                solvingIndicator.setVisible(false);
+                solveBtn.setDisable(false);
+                stopBtn.setDisable(true);
+                statusLabel.setText("Solve failed (" + strategy + "): " + error);
+                statusLabel.setTextFill(Color.RED);
             });
         });
 
         stopBtn.setOnAction(e -> {
             selectedMazeRef[0].stopAuto();
+            solvingIndicator.setVisible(false);
             solveBtn.setDisable(false);
             stopBtn.setDisable(true);
             statusLabel.setText("Stopped. Press Solve to resume from current position.");
             statusLabel.setTextFill(Color.GRAY);
         });
 
-        HBox controlRow = new HBox(12, new Label("Maze:"), mazeSelector, solveBtn, stopBtn);
+        HBox controlRow = new HBox(12, new Label("Maze:"), mazeSelector,
+                new Label("Solver:"), strategySelector, smoothBox, solveBtn, stopBtn);
         controlRow.setAlignment(Pos.CENTER_LEFT);
 
-        HBox statusRow = new HBox(statusLabel);
+        HBox statusRow = new HBox(8, solvingIndicator, statusLabel);
         statusRow.setAlignment(Pos.CENTER_LEFT);
 
         ScrollPane scroll = new ScrollPane(clonePane);
@@ -442,24 +775,29 @@ public class MazeApp extends Application {
         return root;
     }
 
-    private Maze getMazeByName(String mazeName) {
-        if ("Maze 1".equals(mazeName)) {
-            return maze1;
-        }
-        if ("Maze 2".equals(mazeName)) {
-            return maze2;
-        }
-        if ("Maze 3".equals(mazeName)) {
-            return maze3;
+    private int getMazeIndexByName(String mazeName) {
+        for (int i = 0; i < LEVEL_NAMES.length - 1; i++) {
+            if (LEVEL_NAMES[i].equals(mazeName)) {
+                return i;
+            }
         }
-        return maze4;
+        return LEVEL_NAMES.length - 1;
     }
 
     private void stopAllAuto() {
-        maze1.stopAuto();
-        maze2.stopAuto();
-        maze3.stopAuto();
-        maze4.stopAuto();
+        for (Maze maze : mazes) {
+            if (maze != null) {
+                maze.stopAuto();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Closing writes the end marker, so a session recorded up to exit replays in full.
+        if (recorder != null) {
+            stopRecording();
+        }
     }
 
     public static void main(String[] args) {
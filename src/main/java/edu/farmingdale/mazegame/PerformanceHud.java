@@ -0,0 +1,98 @@
+package edu.farmingdale.mazegame;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+
+/**
+ * Toggleable overlay with frame rate, frame-time percentiles, simulation and
+ * draw time, collision sweeps and the last solve of one Maze. Numbers come
+ * from the game loop's {@link FrameStats}. The text is rebuilt into a reused
+ * buffer only a few times a second, so most frames with the HUD shown
+ * allocate nothing.
+ */
+final class PerformanceHud {
+
+    private static final long REFRESH_NS = 250_000_000L;
+
+    private final Label label = new Label();
+    private final StringBuilder text = new StringBuilder(256);
+    private Maze maze;
+    private long refreshedAt;
+
+    PerformanceHud() {
+        label.setFont(Font.font("Monospaced", 12));
+        label.setStyle("-fx-background-color: rgba(0,0,0,0.65); -fx-text-fill: #e8f5e9;");
+        label.setPadding(new Insets(4, 8, 4, 8));
+        label.setMouseTransparent(true);
+        label.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.TOP_LEFT);
+        StackPane.setMargin(label, new Insets(6));
+    }
+
+    /** The overlay node; add it on top of a StackPane. */
+    Label getNode() { return label; }
+
+    /** The maze whose collision and solver numbers are shown; frame numbers are global. */
+    void setMaze(Maze maze) { this.maze = maze; }
+
+    boolean isShown() { return label.isVisible(); }
+
+    void setShown(boolean shown) {
+        label.setVisible(shown);
+        refreshedAt = 0;
+    }
+
+    /** Called once per frame; rebuilds the text when shown and due. */
+    void refresh() {
+        GameLoop loop = GameLoop.shared();
+        long now = loop.getLastPulseNs();
+        if (!label.isVisible() || (refreshedAt != 0 && now - refreshedAt < REFRESH_NS)) {
+            return;
+        }
+        refreshedAt = now;
+
+        FrameStats stats = loop.stats();
+        text.setLength(0);
+        text.append("FPS ");
+        appendFixed(text, Math.round(stats.fps() * 10), 1);
+        text.append("\nframe p50 ");
+        appendMillis(text, stats.percentileNs(0.50));
+        text.append("  p95 ");
+        appendMillis(text, stats.percentileNs(0.95));
+        text.append("  p99 ");
+        appendMillis(text, stats.percentileNs(0.99));
+        text.append(" ms\nsim ");
+        appendMillis(text, stats.simulationNs());
+        text.append(" ms  draw ");
+        appendMillis(text, stats.drawNs());
+        text.append(" ms");
+        if (maze != null) {
+            text.append("\ncollision sweeps/frame ").append(maze.getFrameCollisionSweeps());
+            text.append("\nsolve ").append(maze.getSolverStrategy().getLabel()).append(": ")
+                    .append(maze.getLastExpandedNodes()).append(" nodes, ");
+            appendMillis(text, maze.getLastSolveNanos());
+            text.append(" ms");
+        }
+        label.setText(text.toString());
+    }
+
+    /** Appends nanoseconds as milliseconds with two decimals, without String.format. */
+    private static void appendMillis(StringBuilder out, long nanos) {
+        appendFixed(out, (nanos + 5_000) / 10_000, 2);
+    }
+
+    private static void appendFixed(StringBuilder out, long scaled, int decimals) {
+        long unit = decimals == 1 ? 10 : 100;
+        out.append(scaled / unit).append('.');
+        long fraction = scaled % unit;
+        if (decimals == 2 && fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+}
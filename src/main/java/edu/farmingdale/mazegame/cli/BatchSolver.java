@@ -0,0 +1,246 @@
+package edu.farmingdale.mazegame.cli;
+
+import edu.farmingdale.mazegame.core.MazeLevel;
+import edu.farmingdale.mazegame.core.MazeSolver;
+import edu.farmingdale.mazegame.core.SolverStrategy;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Headless batch validator: solves every maze image under a directory or glob
+ * on a work-stealing pool and prints one result line per maze as it finishes.
+ *
+ * <pre>
+ * java -cp MazeGame.jar edu.farmingdale.mazegame.cli.BatchSolver mazes/ --format jsonl
+ * java -cp MazeGame.jar edu.farmingdale.mazegame.cli.BatchSolver "mazes/**.png" --threads 4 --strategy A_STAR
+ * </pre>
+ *
+ * Spawn and exit come from a sidecar {@code <name>.properties} next to the image
+ * (keys spawnX, spawnY, endX, endY and optionally challenger=true). Without one,
+ * the bundled file names use their hardcoded points and any other image is read
+ * as a challenger level with its blue/red markers detected.
+ *
+ * Results are the only output on stdout, so the stream stays parseable; bad
+ * arguments are reported on stderr. The exit code is 1 if any maze was
+ * unsolvable or failed to load, and 2 for bad arguments.
+ */
+public final class BatchSolver {
+
+    private static final String USAGE = "usage: BatchSolver <directory|glob> [--format csv|jsonl] [--threads N] [--strategy BFS|A_STAR|JUMP_POINT|DISTANCE_FIELD|HIERARCHICAL] (defaults: csv, all cores, A_STAR)";
+    private static final String CSV_HEADER = "file,solvable,path_steps,expanded_nodes,load_ms,solve_ms,error";
+
+    private final boolean jsonl;
+    private final SolverStrategy strategy;
+    private final PrintStream out;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private BatchSolver(boolean jsonl, SolverStrategy strategy, PrintStream out) {
+        this.jsonl = jsonl;
+        this.strategy = strategy;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String target = null;
+        String format = "csv";
+        int threads = Runtime.getRuntime().availableProcessors();
+        SolverStrategy strategy = SolverStrategy.A_STAR;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && i + 1 >= args.length) {
+                exitWithUsage(arg + " needs a value");
+            }
+            switch (arg) {
+                case "--format" -> format = args[++i].toLowerCase(Locale.ROOT);
+                case "--threads" -> {
+                    String value = args[++i];
+                    try {
+                        threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        exitWithUsage("--threads needs a number, got " + value);
+                    }
+                }
+                case "--strategy" -> {
+                    String value = args[++i];
+                    try {
+                        strategy = SolverStrategy.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        exitWithUsage("unknown strategy " + value);
+                    }
+                }
+                default -> {
+                    if (target != null) {
+                        exitWithUsage("unexpected argument " + arg);
+                    }
+                    target = arg;
+                }
+            }
+        }
+        if (target == null) {
+            exitWithUsage("no directory or glob given");
+        }
+        if (!format.equals("csv") && !format.equals("jsonl")) {
+            exitWithUsage("unknown format " + format);
+        }
+
+        BatchSolver batch = new BatchSolver(format.equals("jsonl"), strategy, System.out);
+        int failures = batch.run(target, Math.max(1, threads));
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void exitWithUsage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    /** Solves every matching image and returns how many were unsolvable or failed. */
+    private int run(String target, int threads) throws IOException, InterruptedException {
+        if (!jsonl) {
+            out.println(CSV_HEADER);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // Files are handed to the pool as the walk finds them, so the first results
+        // stream out while the directory is still being listed.
+        try (Stream<Path> files = listImages(target)) {
+            files.forEach(file -> pool.execute(() -> emit(solveOne(file))));
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return failures.get();
+    }
+
+    private static Stream<Path> listImages(String target) throws IOException {
+        Path asPath = Path.of(target);
+        if (Files.isDirectory(asPath)) {
+            return Files.list(asPath)
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".png"))
+                    .sorted();
+        }
+
+        // Walk from the longest prefix without glob characters and match the rest.
+        Path root = Path.of("");
+        for (Path part : asPath) {
+            if (part.toString().matches(".*[*?\\[{].*")) {
+                break;
+            }
+            root = root.resolve(part);
+        }
+        if (asPath.isAbsolute()) {
+            root = asPath.getRoot().resolve(root);
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + target);
+        Path walkRoot = root.toString().isEmpty() ? Path.of(".") : root;
+        boolean fromCurrentDir = root.toString().isEmpty();
+        return Files.walk(walkRoot)
+                .filter(Files::isRegularFile)
+                .map(file -> fromCurrentDir ? walkRoot.relativize(file) : file)
+                .filter(matcher::matches);
+    }
+
+    // -----------------------------------------------------------------------
+    // One maze
+    // -----------------------------------------------------------------------
+
+    private record Result(Path file, boolean solvable, int pathSteps, int expandedNodes,
+                          double loadMillis, double solveMillis, String error) {
+    }
+
+    private Result solveOne(Path file) {
+        long loadStart = System.nanoTime();
+        try {
+            MazeLevel level = MazeLevel.load(file);
+            double loadMillis = (System.nanoTime() - loadStart) / 1_000_000.0;
+
+            MazeSolver solver = level.getSolver();
+            int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+            long solveStart = System.nanoTime();
+            List<int[]> path = solver.solve(start[0], start[1], (int) level.getEndX(), (int) level.getEndY(), strategy);
+            double solveMillis = (System.nanoTime() - solveStart) / 1_000_000.0;
+
+            return new Result(file, !path.isEmpty(), path.size(), solver.getLastExpandedNodes(),
+                    loadMillis, solveMillis, null);
+        } catch (IOException | RuntimeException e) {
+            double loadMillis = (System.nanoTime() - loadStart) / 1_000_000.0;
+            return new Result(file, false, 0, 0, loadMillis, 0, e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // Output
+    // -----------------------------------------------------------------------
+
+    private void emit(Result result) {
+        if (!result.solvable()) {
+            failures.incrementAndGet();
+        }
+        String line = jsonl ? toJson(result) : toCsv(result);
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    private static String toCsv(Result r) {
+        return csvField(r.file().toString()) + ',' + r.solvable() + ',' + r.pathSteps() + ',' + r.expandedNodes() + ','
+                + String.format(Locale.ROOT, "%.3f,%.3f", r.loadMillis(), r.solveMillis()) + ','
+                + (r.error() == null ? "" : csvField(r.error()));
+    }
+
+    private static String toJson(Result r) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"file\":").append(jsonString(r.file().toString()))
+                .append(",\"solvable\":").append(r.solvable())
+                .append(",\"pathSteps\":").append(r.pathSteps())
+                .append(",\"expandedNodes\":").append(r.expandedNodes())
+                .append(String.format(Locale.ROOT, ",\"loadMillis\":%.3f,\"solveMillis\":%.3f", r.loadMillis(), r.solveMillis()));
+        if (r.error() != null) {
+            sb.append(",\"error\":").append(jsonString(r.error()));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
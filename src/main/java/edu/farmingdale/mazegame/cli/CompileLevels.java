@@ -0,0 +1,81 @@
+package edu.farmingdale.mazegame.cli;
+
+import edu.farmingdale.mazegame.core.CompiledLevel;
+import edu.farmingdale.mazegame.core.MazeLevel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Build-time step that compiles maze images into {@link CompiledLevel} files,
+ * so the game maps them instead of classifying images on first launch.
+ * Images are laid out as in {@code MazeLevel.load(Path)}: sidecar properties,
+ * bundled file names, or challenger markers.
+ *
+ * <pre>
+ * java -cp MazeGame.jar edu.farmingdale.mazegame.cli.CompileLevels src/main/resources/*.png --out ~/.mazegame/levels
+ * </pre>
+ */
+public final class CompileLevels {
+
+    private static final String USAGE = "usage: CompileLevels <image>... [--out DIR] [--no-distance-field] (default: next to each image)";
+
+    private CompileLevels() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> images = new ArrayList<>();
+        Path outDir = null;
+        boolean distanceField = true;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--out" -> {
+                    if (i + 1 >= args.length) {
+                        exitWithUsage(arg + " needs a value");
+                    }
+                    outDir = Path.of(args[++i]);
+                }
+                case "--no-distance-field" -> distanceField = false;
+                default -> images.add(Path.of(arg));
+            }
+        }
+        if (images.isEmpty()) {
+            exitWithUsage("no images given");
+        }
+        if (outDir != null) {
+            Files.createDirectories(outDir);
+        }
+
+        for (Path image : images) {
+            long start = System.nanoTime();
+            long checksum;
+            try (InputStream in = Files.newInputStream(image)) {
+                checksum = CompiledLevel.checksum(in);
+            }
+            MazeLevel level = MazeLevel.load(image);
+            long loaded = System.nanoTime();
+
+            String fileName = CompiledLevel.fileNameFor(image.getFileName().toString());
+            Path out = outDir != null ? outDir.resolve(fileName) : image.resolveSibling(fileName);
+            CompiledLevel.write(level, checksum, out, distanceField);
+            long written = System.nanoTime();
+
+            System.out.printf(Locale.ROOT, "%s -> %s: %dx%d px, %d bytes (load %.1f ms, compile %.1f ms)%n",
+                    image, out, level.getWidth(), level.getHeight(), Files.size(out),
+                    (loaded - start) / 1_000_000.0, (written - loaded) / 1_000_000.0);
+        }
+    }
+
+    private static void exitWithUsage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.farmingdale.mazegame.cli;
+
+import edu.farmingdale.mazegame.gen.GeneratedMaze;
+import edu.farmingdale.mazegame.gen.MazeAlgorithm;
+import edu.farmingdale.mazegame.gen.MazeGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes a seeded, procedurally generated maze as a PNG plus its sidecar
+ * properties, ready for {@link BatchSolver}, {@code MazeLevel.load(Path)} or
+ * {@code Maze.fromFile}.
+ *
+ * <pre>
+ * java -cp MazeGame.jar edu.farmingdale.mazegame.cli.GenerateMaze big.png --size 16384 --algorithm wilson --seed 7
+ * </pre>
+ */
+public final class GenerateMaze {
+
+    private static final String USAGE = "usage: GenerateMaze <out.png> [--size PX] [--algorithm backtracker|kruskal|wilson] [--seed N] (defaults: 1024, backtracker, 1)";
+    private static final int MAX_SIZE = 16384;
+
+    private GenerateMaze() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = null;
+        int size = 1024;
+        MazeAlgorithm algorithm = MazeAlgorithm.BACKTRACKER;
+        long seed = 1L;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && i + 1 >= args.length) {
+                exitWithUsage(arg + " needs a value");
+            }
+            switch (arg) {
+                case "--size" -> {
+                    String value = args[++i];
+                    try {
+                        size = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        exitWithUsage("--size needs a number, got " + value);
+                    }
+                }
+                case "--algorithm" -> {
+                    String value = args[++i];
+                    try {
+                        algorithm = MazeAlgorithm.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        exitWithUsage("unknown algorithm " + value);
+                    }
+                }
+                case "--seed" -> {
+                    String value = args[++i];
+                    try {
+                        seed = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        exitWithUsage("--seed needs a number, got " + value);
+                    }
+                }
+                default -> {
+                    if (out != null) {
+                        exitWithUsage("unexpected argument " + arg);
+                    }
+                    out = Path.of(arg);
+                }
+            }
+        }
+        if (out == null) {
+            exitWithUsage("no output file given");
+        }
+        if (size < GeneratedMaze.PITCH + GeneratedMaze.WALL || size > MAX_SIZE) {
+            exitWithUsage("size must be between " + (GeneratedMaze.PITCH + GeneratedMaze.WALL) + " and " + MAX_SIZE);
+        }
+
+        long start = System.nanoTime();
+        GeneratedMaze maze = MazeGenerator.generate(algorithm, size, seed);
+        long generated = System.nanoTime();
+        maze.write(out);
+        long written = System.nanoTime();
+
+        System.out.printf(Locale.ROOT, "%s: %dx%d px, %dx%d cells, %s seed %d (generate %.1f ms, write %.1f ms)%n",
+                out, maze.getWidth(), maze.getHeight(), maze.getCellsX(), maze.getCellsY(), algorithm, seed,
+                (generated - start) / 1_000_000.0, (written - generated) / 1_000_000.0);
+    }
+
+    private static void exitWithUsage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
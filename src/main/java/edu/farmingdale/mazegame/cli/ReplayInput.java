@@ -0,0 +1,88 @@
+package edu.farmingdale.mazegame.cli;
+
+import edu.farmingdale.mazegame.core.InputRecording;
+import edu.farmingdale.mazegame.core.MazeLevel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays an input recording headlessly on its bundled level, moving the
+ * player exactly as the game did, and reports when the exit was reached.
+ * Without {@code --realtime} it runs as fast as possible, for regression
+ * benchmarks on real sessions; the exit time can be checked against the
+ * level timer of a run whose timer was started with the recording.
+ *
+ * <pre>
+ * java -cp MazeGame.jar edu.farmingdale.mazegame.cli.ReplayInput ~/.mazegame/replays/maze-20261017-101500.mzr
+ * </pre>
+ */
+public final class ReplayInput {
+
+    private static final String USAGE = "usage: ReplayInput <recording.mzr> [--realtime]";
+
+    private ReplayInput() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        boolean realtime = false;
+        for (String arg : args) {
+            if (arg.equals("--realtime")) {
+                realtime = true;
+            } else if (file == null) {
+                file = Path.of(arg);
+            } else {
+                exitWithUsage("unexpected argument " + arg);
+            }
+        }
+        if (file == null) {
+            exitWithUsage("no recording given");
+        }
+
+        try (InputRecording.Reader reader = new InputRecording.Reader(file)) {
+            InputRecording.Header header = reader.header();
+            MazeLevel level = MazeLevel.load(header.level());
+            level.setPlayerPosition(header.startX(), header.startY());
+            double dt = 1.0 / header.ticksPerSecond();
+            long tickNs = 1_000_000_000L / header.ticksPerSecond();
+            double[] direction = new double[2];
+            long exitTick = -1;
+
+            long start = System.nanoTime();
+            for (int keys; (keys = reader.nextTick()) >= 0; ) {
+                if (InputRecording.direction(keys, direction)) {
+                    double distance = level.getMoveSpeedPxPerSecond() * dt;
+                    level.moveBy(direction[0] * distance, direction[1] * distance);
+                }
+                if (exitTick < 0 && level.isAtEnd()) {
+                    exitTick = reader.getTicks();
+                }
+                if (realtime) {
+                    LockSupport.parkNanos(start + reader.getTicks() * tickNs - System.nanoTime());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long ticks = reader.getTicks();
+            System.out.printf(Locale.ROOT, "%s on %s (%s): %d ticks, %.2f s of play, ended at (%.2f, %.2f)%n",
+                    file, header.level(), header.car() ? "car" : "robot", ticks,
+                    (double) ticks / header.ticksPerSecond(), level.getPlayerX(), level.getPlayerY());
+            if (exitTick >= 0) {
+                System.out.printf(Locale.ROOT, "exit reached at tick %d (%.2f s)%n",
+                        exitTick, (double) exitTick / header.ticksPerSecond());
+            } else {
+                System.out.println("exit not reached");
+            }
+            System.out.printf(Locale.ROOT, "replayed in %.1f ms%n", elapsed / 1_000_000.0);
+        }
+    }
+
+    private static void exitWithUsage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
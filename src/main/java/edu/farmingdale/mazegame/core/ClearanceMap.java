@@ -0,0 +1,201 @@
+package edu.farmingdale.mazegame.core;
+
+/**
+ * Per-pixel clearance over a {@link MazeGrid}: each entry holds the side
+ * of the largest fully walkable square whose top-left corner is that pixel.
+ * "Is this whole hitbox free?" becomes one array read instead of point sampling.
+ */
+public class ClearanceMap {
+
+    /** Clearance values are stored in a byte, so larger squares are checked in tiles. */
+    private static final int MAX_CLEARANCE = 255;
+    /** A sweep stopped by a wall ends this far short of it, so rounding never puts the hitbox on the blocked pixel. */
+    private static final double CONTACT_GAP = 1e-6;
+
+    private final int width;
+    private final int height;
+    private final byte[] clearance;
+
+    public ClearanceMap(MazeGrid grid) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.clearance = new byte[width * height];
+
+        // Bottom-up, right-to-left: a square fits at (x, y) if it fits one pixel
+        // to the right, one below and one diagonally below-right.
+        for (int y = height - 1; y >= 0; y--) {
+            int row = y * width;
+            for (int x = width - 1; x >= 0; x--) {
+                if (!grid.isWalkable(x, y)) {
+                    continue;
+                }
+                int right = x + 1 < width ? at(row + x + 1) : 0;
+                int below = y + 1 < height ? at(row + width + x) : 0;
+                int diagonal = x + 1 < width && y + 1 < height ? at(row + width + x + 1) : 0;
+                int value = 1 + Math.min(right, Math.min(below, diagonal));
+                clearance[row + x] = (byte) Math.min(value, MAX_CLEARANCE);
+            }
+        }
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /** Side of the largest free square anchored at (x, y), or 0 if blocked or outside. */
+    public int getClearance(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return 0;
+        }
+        return at(y * width + x);
+    }
+
+    /** Returns true if every pixel of the size-by-size square at (left, top) is walkable. */
+    public boolean isBoxFree(int left, int top, int size) {
+        return isRectFree(left, top, size, size);
+    }
+
+    /**
+     * Returns true if every pixel of the rectangle is walkable. The rectangle is
+     * covered by overlapping squares of its shorter side, so the answer is exact.
+     */
+    public boolean isRectFree(int left, int top, int rectWidth, int rectHeight) {
+        if (rectWidth <= 0 || rectHeight <= 0) {
+            return true;
+        }
+        if (left < 0 || top < 0 || left + rectWidth > width || top + rectHeight > height) {
+            return false;
+        }
+
+        int side = Math.min(MAX_CLEARANCE, Math.min(rectWidth, rectHeight));
+        int lastX = left + rectWidth - side;
+        int lastY = top + rectHeight - side;
+        for (int y = top; ; y = Math.min(y + side, lastY)) {
+            for (int x = left; ; x = Math.min(x + side, lastX)) {
+                if (at(y * width + x) < side) {
+                    return false;
+                }
+                if (x == lastX) {
+                    break;
+                }
+            }
+            if (y == lastY) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Player collision query: a size-by-size sprite at (x, y) whose hitbox is
+     * shrunk by {@code inset} pixels on every side.
+     */
+    public boolean canPlace(double x, double y, double size, double inset) {
+        double left = x + inset;
+        double top = y + inset;
+        double right = x + size - 1 - inset;
+        double bottom = y + size - 1 - inset;
+
+        if (left < 0 || top < 0 || right >= width || bottom >= height) {
+            return false;
+        }
+
+        int boxLeft = (int) left;
+        int boxTop = (int) top;
+        return isRectFree(boxLeft, boxTop, (int) right - boxLeft + 1, (int) bottom - boxTop + 1);
+    }
+
+    /**
+     * Swept version of {@link #canPlace} along x: how far the sprite at (x, y)
+     * can move by up to {@code dx} before its hitbox would cover a blocked pixel
+     * or leave the map. Returns a value with the sign of {@code dx} and at most
+     * its magnitude; the cost depends on the hitbox, not on the distance.
+     */
+    public double sweepX(double x, double y, double size, double inset, double dx) {
+        double top = y + inset;
+        double bottom = y + size - 1 - inset;
+        if (top < 0 || bottom >= height) {
+            return 0;
+        }
+        return sweep(x + inset, x + size - 1 - inset, (int) top, (int) bottom - (int) top + 1, dx, true);
+    }
+
+    /** Same as {@link #sweepX} along y. */
+    public double sweepY(double x, double y, double size, double inset, double dy) {
+        double left = x + inset;
+        double right = x + size - 1 - inset;
+        if (left < 0 || right >= width) {
+            return 0;
+        }
+        return sweep(y + inset, y + size - 1 - inset, (int) left, (int) right - (int) left + 1, dy, false);
+    }
+
+    /**
+     * Moves the hitbox extent [lo, hi] by {@code delta} along one axis. Only
+     * the pixel lines the leading edge enters can block it, so this finds the
+     * longest free run of them: one rectangle query when the way is clear,
+     * a binary search over the run when it is not.
+     */
+    private double sweep(double lo, double hi, int crossStart, int crossLength, double delta, boolean horizontal) {
+        int limit = horizontal ? width : height;
+        if (delta > 0) {
+            int first = (int) hi + 1;
+            int last = (int) Math.floor(hi + delta);
+            if (last < first) {
+                return delta;
+            }
+            int free = freeLines(first, Math.min(last, limit - 1) - first + 1, 1, crossStart, crossLength, horizontal);
+            if (free == last - first + 1) {
+                return delta;
+            }
+            return Math.max(0, first + free - hi - CONTACT_GAP);
+        }
+        if (delta < 0) {
+            int first = (int) lo - 1;
+            int last = (int) Math.floor(lo + delta);
+            if (last > first) {
+                return delta;
+            }
+            int free = freeLines(first, first - Math.max(last, 0) + 1, -1, crossStart, crossLength, horizontal);
+            if (free == first - last + 1) {
+                return delta;
+            }
+            return Math.min(0, first - free + 1 - lo + CONTACT_GAP);
+        }
+        return 0;
+    }
+
+    /**
+     * Number of consecutive fully walkable lines (columns when horizontal,
+     * rows otherwise) starting at {@code first} and going in {@code direction},
+     * looking at no more than {@code count} of them.
+     */
+    private int freeLines(int first, int count, int direction, int crossStart, int crossLength, boolean horizontal) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (linesFree(first, count, direction, crossStart, crossLength, horizontal)) {
+            return count;
+        }
+        int lo = 0;
+        int hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (linesFree(first, mid, direction, crossStart, crossLength, horizontal)) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private boolean linesFree(int first, int count, int direction, int crossStart, int crossLength, boolean horizontal) {
+        int start = direction > 0 ? first : first - count + 1;
+        return horizontal
+                ? isRectFree(start, crossStart, count, crossLength)
+                : isRectFree(crossStart, start, crossLength, count);
+    }
+
+    private int at(int index) {
+        return clearance[index] & 0xff;
+    }
+}
@@ -0,0 +1,221 @@
+package edu.farmingdale.mazegame.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary level file: everything a MazeLevel derives from its image, so a
+ * level loads with one memory-mapped read and no classification or marker scan.
+ * The image itself is then only needed to draw the level.
+ *
+ * The mapping is bulk-copied into heap arrays rather than used in place: the
+ * grid, clearance map and distance field all index plain arrays on their hot
+ * paths, and the copy lets the file be closed (and replaced) right after loading.
+ *
+ * A file is only used if both the image checksum and
+ * {@link MazeLevel#RULES_VERSION} match the ones it was written with, so
+ * new colour rules, spawn points or player sizes recompile it. Code that derives
+ * stored results in other ways (marker detection, the distance field) must bump
+ * {@code VERSION} when it changes.
+ *
+ * Layout (little-endian, every section 8-byte aligned):
+ * <pre>
+ * int    magic "MZLV", int version
+ * long   checksum of the source image bytes (see {@link #checksum})
+ * int    {@link MazeLevel#RULES_VERSION} when written, int pad
+ * int    width, int height, int flags (1 = challenger, 2 = distance field)
+ * int    name length in UTF-8 bytes
+ * double spawnX, spawnY, endX, endY, playerSize, displayScale
+ * byte[] name, zero-padded to 8 bytes
+ * long[] walkable bits, then blue and red marker bits on challenger levels
+ * int    stepSize, cols, rows, goalCell, reachableCells, pad   (distance field only)
+ * int[]  cols * rows cell distances                            (distance field only)
+ * </pre>
+ */
+public final class CompiledLevel {
+
+    /** File extension used for compiled levels. */
+    public static final String EXTENSION = ".mzl";
+
+    private static final int MAGIC = 0x4D5A4C56;
+    private static final int VERSION = 3;
+    private static final int FLAG_CHALLENGER = 1;
+    private static final int FLAG_DISTANCE_FIELD = 2;
+    private static final int HEADER_BYTES = 4 * 2 + 8 + 4 * 2 + 4 * 4 + 8 * 6;
+
+    private CompiledLevel() {
+    }
+
+    /** Compiled file name for an image file name: {@code maze.png} becomes {@code maze.mzl}. */
+    public static String fileNameFor(String imageFileName) {
+        int dot = imageFileName.lastIndexOf('.');
+        return (dot > 0 ? imageFileName.substring(0, dot) : imageFileName) + EXTENSION;
+    }
+
+    /** CRC-32 of an image file's bytes, used to tell whether a compiled level is stale. */
+    public static long checksum(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        for (int n; (n = in.read(buffer)) > 0; ) {
+            crc.update(buffer, 0, n);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Writes {@code level} with its current spawn and exit. With
+     * {@code includeDistanceField} the exit's distance field is built if needed
+     * and stored, so the first auto-solve after loading needs no search.
+     * The file is written next to {@code out} and moved into place at the end.
+     */
+    public static void write(MazeLevel level, long sourceChecksum, Path out, boolean includeDistanceField) throws IOException {
+        MazeGrid grid = level.getGrid();
+        GoalDistanceField field = includeDistanceField
+                ? level.getSolver().distanceFieldTo((int) level.getEndX(), (int) level.getEndY())
+                : null;
+        byte[] name = level.getName().getBytes(StandardCharsets.UTF_8);
+        int flags = (grid.isChallengerLevel() ? FLAG_CHALLENGER : 0) | (field != null ? FLAG_DISTANCE_FIELD : 0);
+
+        long words = grid.walkableBits().length;
+        long size = HEADER_BYTES + align8(name.length) + 8 * words * (grid.isChallengerLevel() ? 3 : 1);
+        if (field != null) {
+            size += 4 * 6 + align8(4L * field.distances().length);
+        }
+
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putLong(sourceChecksum);
+            buf.putInt(MazeLevel.RULES_VERSION).putInt(0);
+            buf.putInt(grid.getWidth()).putInt(grid.getHeight()).putInt(flags).putInt(name.length);
+            buf.putDouble(level.getPlayerX()).putDouble(level.getPlayerY());
+            buf.putDouble(level.getEndX()).putDouble(level.getEndY());
+            buf.putDouble(level.getPlayerSize()).putDouble(level.getDisplayScale());
+            buf.put(name);
+            buf.position(buf.position() + align8(name.length) - name.length);
+
+            putLongs(buf, grid.walkableBits());
+            if (grid.isChallengerLevel()) {
+                putLongs(buf, grid.blueMarkerBits());
+                putLongs(buf, grid.redMarkerBits());
+            }
+            if (field != null) {
+                buf.putInt(field.getStepSize()).putInt(field.cols()).putInt(field.rows());
+                buf.putInt(field.goalCell()).putInt(field.getReachableCells()).putInt(0);
+                buf.asIntBuffer().put(field.distances());
+            }
+            buf.force();
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a compiled level and rebuilds its MazeLevel. Throws if the file is
+     * not a compiled level, was built from different image bytes than
+     * {@code expectedChecksum}, or was built under different level rules.
+     */
+    public static MazeLevel read(Path file, long expectedChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            return read(file, buf, expectedChecksum);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(file + " is truncated", e);
+        }
+    }
+
+    private static MazeLevel read(Path file, MappedByteBuffer buf, long expectedChecksum) throws IOException {
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) {
+            throw new IOException(file + " is not a compiled level");
+        }
+        int version = buf.getInt();
+        if (version != VERSION) {
+            throw new IOException(file + " has format version " + version + ", expected " + VERSION);
+        }
+        if (buf.getLong() != expectedChecksum) {
+            throw new IOException(file + " was compiled from a different image");
+        }
+        int rulesVersion = buf.getInt();
+        if (rulesVersion != MazeLevel.RULES_VERSION) {
+            throw new IOException(file + " was compiled under level rules version " + rulesVersion
+                    + ", expected " + MazeLevel.RULES_VERSION);
+        }
+        buf.getInt();
+
+        int width = buf.getInt();
+        int height = buf.getInt();
+        int flags = buf.getInt();
+        int nameLength = buf.getInt();
+        double spawnX = buf.getDouble();
+        double spawnY = buf.getDouble();
+        double endX = buf.getDouble();
+        double endY = buf.getDouble();
+        double playerSize = buf.getDouble();
+        double displayScale = buf.getDouble();
+        byte[] name = new byte[nameLength];
+        buf.get(name);
+        buf.position(buf.position() + align8(nameLength) - nameLength);
+
+        boolean challenger = (flags & FLAG_CHALLENGER) != 0;
+        int words = (int) (((long) width * height + 63) >>> 6);
+        long[] bits = getLongs(buf, words);
+        long[] blueBits = challenger ? getLongs(buf, words) : null;
+        long[] redBits = challenger ? getLongs(buf, words) : null;
+        MazeGrid grid = new MazeGrid(width, height, challenger, bits, blueBits, redBits);
+
+        MazeLevel level = new MazeLevel(new String(name, StandardCharsets.UTF_8), grid, spawnX, spawnY, endX, endY);
+        if (level.getPlayerSize() != playerSize || level.getDisplayScale() != displayScale) {
+            throw new IOException(file + " was compiled for a different player size or display scale");
+        }
+
+        if ((flags & FLAG_DISTANCE_FIELD) != 0) {
+            int stepSize = buf.getInt();
+            int cols = buf.getInt();
+            int rows = buf.getInt();
+            int goalCell = buf.getInt();
+            int reachable = buf.getInt();
+            buf.getInt();
+            int[] distance = new int[cols * rows];
+            buf.asIntBuffer().get(distance);
+            try {
+                level.getSolver().installDistanceField(
+                        new GoalDistanceField(cols, rows, stepSize, goalCell, distance, reachable));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + ": " + e.getMessage(), e);
+            }
+        }
+        return level;
+    }
+
+    private static void putLongs(MappedByteBuffer buf, long[] words) {
+        buf.asLongBuffer().put(words);
+        buf.position(buf.position() + 8 * words.length);
+    }
+
+    private static long[] getLongs(MappedByteBuffer buf, int count) {
+        long[] words = new long[count];
+        buf.asLongBuffer().get(words);
+        buf.position(buf.position() + 8 * count);
+        return words;
+    }
+
+    private static int align8(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static long align8(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
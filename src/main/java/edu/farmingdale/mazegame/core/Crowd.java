@@ -0,0 +1,122 @@
+package edu.farmingdale.mazegame.core;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Many agents racing from random open cells to a level's exit at once.
+ * Agent state lives in parallel primitive arrays, and every agent steers by
+ * the level's one goal distance field, so an agent costs a few array slots
+ * and no search. Agents do not collide with each other.
+ *
+ * Positions use the player's coordinates: the top-left of a player-sized box.
+ * Large crowds are stepped in parallel chunks; each agent only ever touches
+ * its own slots, so the result does not depend on how chunks are scheduled.
+ */
+public final class Crowd {
+
+    /** Below this many agents, one thread steps them faster than a fork would. */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK_AGENTS = 2048;
+
+    private final GoalDistanceField field;
+    private final int stepSize;
+    private final int cols;
+    private final int size;
+    private final double[] x;
+    private final double[] y;
+    private final float[] speed;
+    // Cell each agent is heading to, or -1 once it has reached the exit.
+    private final int[] target;
+    private int arrived;
+
+    /**
+     * Spawns {@code size} agents on cells that can reach the exit, with speeds
+     * spread around {@code pixelsPerSecond}. The same seed spawns the same crowd.
+     * Builds the exit's distance field if the solver has not yet.
+     */
+    public Crowd(MazeLevel level, int size, double pixelsPerSecond, long seed) {
+        this.field = level.getSolver().distanceFieldTo((int) level.getEndX(), (int) level.getEndY());
+        this.stepSize = field.getStepSize();
+        this.cols = field.cols();
+
+        int[] distances = field.distances();
+        int[] spawnCells = new int[field.getReachableCells()];
+        int spawnCount = 0;
+        for (int cell = 0; cell < distances.length; cell++) {
+            if (distances[cell] > 0) {
+                spawnCells[spawnCount++] = cell;
+            }
+        }
+
+        this.size = spawnCount == 0 ? 0 : size;
+        this.x = new double[this.size];
+        this.y = new double[this.size];
+        this.speed = new float[this.size];
+        this.target = new int[this.size];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < this.size; i++) {
+            int cell = spawnCells[random.nextInt(spawnCount)];
+            x[i] = (cell % cols) * stepSize;
+            y[i] = (cell / cols) * stepSize;
+            speed[i] = (float) (pixelsPerSecond * (0.75 + 0.5 * random.nextDouble()));
+            target[i] = field.nextCell(cell);
+        }
+    }
+
+    public int size() { return size; }
+    public double getX(int agent) { return x[agent]; }
+    public double getY(int agent) { return y[agent]; }
+    public boolean hasArrived(int agent) { return target[agent] < 0; }
+    public int getArrivedCount() { return arrived; }
+    public boolean isFinished() { return arrived == size; }
+
+    /** Advances every agent by {@code dt} seconds. */
+    public void step(double dt) {
+        if (size < PARALLEL_THRESHOLD) {
+            arrived += stepRange(0, size, dt);
+            return;
+        }
+        int chunks = (size + CHUNK_AGENTS - 1) / CHUNK_AGENTS;
+        arrived += IntStream.range(0, chunks).parallel()
+                .map(chunk -> stepRange(chunk * CHUNK_AGENTS, Math.min(size, (chunk + 1) * CHUNK_AGENTS), dt))
+                .sum();
+    }
+
+    /** Steps agents [from, to) and returns how many of them arrived this step. */
+    private int stepRange(int from, int to, double dt) {
+        int arrivals = 0;
+        for (int i = from; i < to; i++) {
+            int cell = target[i];
+            if (cell < 0) {
+                continue;
+            }
+            // Cells are neighbours, so every leg is axis-aligned and |dx| + |dy| is its length.
+            double remaining = speed[i] * dt;
+            double ax = x[i];
+            double ay = y[i];
+            while (true) {
+                int tx = (cell % cols) * stepSize;
+                int ty = (cell / cols) * stepSize;
+                double dist = Math.abs(tx - ax) + Math.abs(ty - ay);
+                if (remaining < dist) {
+                    ax += Math.signum(tx - ax) * remaining;
+                    ay += Math.signum(ty - ay) * remaining;
+                    break;
+                }
+                ax = tx;
+                ay = ty;
+                remaining -= dist;
+                cell = field.nextCell(cell);
+                if (cell < 0) {
+                    arrivals++;
+                    break;
+                }
+            }
+            x[i] = ax;
+            y[i] = ay;
+            target[i] = cell;
+        }
+        return arrivals;
+    }
+}
@@ -0,0 +1,154 @@
+package edu.farmingdale.mazegame.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distance in cells from every open cell to one goal cell, from a single
+ * reverse BFS. A path from any reachable cell is read off by stepping to a
+ * neighbour one cell closer, so it costs O(path length) and no search.
+ */
+public class GoalDistanceField {
+
+    /** Distance value for blocked cells and cells that cannot reach the goal. */
+    public static final int UNREACHABLE = -1;
+
+    private final int cols;
+    private final int rows;
+    private final int stepSize;
+    private final int goalCell;
+    private final int[] distance;
+    private final int reachableCells;
+
+    GoalDistanceField(long[] openCells, int cols, int rows, int stepSize, int goalCell) {
+        this.cols = cols;
+        this.rows = rows;
+        this.stepSize = stepSize;
+        this.goalCell = goalCell;
+        this.distance = new int[cols * rows];
+        Arrays.fill(distance, UNREACHABLE);
+
+        // The distance array doubles as the visited set; the queue is a plain int[].
+        int[] queue = new int[cols * rows];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = goalCell;
+        distance[goalCell] = 0;
+        while (head < tail) {
+            int cur = queue[head++];
+            int next = distance[cur] + 1;
+            int cx = cur % cols;
+            int cy = cur / cols;
+            if (cx + 1 < cols) tail = enqueue(openCells, queue, tail, cur + 1, next);
+            if (cx > 0)        tail = enqueue(openCells, queue, tail, cur - 1, next);
+            if (cy + 1 < rows) tail = enqueue(openCells, queue, tail, cur + cols, next);
+            if (cy > 0)        tail = enqueue(openCells, queue, tail, cur - cols, next);
+        }
+        this.reachableCells = tail;
+    }
+
+    /** Wraps distances computed earlier, as stored by {@link CompiledLevel}. */
+    GoalDistanceField(int cols, int rows, int stepSize, int goalCell, int[] distance, int reachableCells) {
+        this.cols = cols;
+        this.rows = rows;
+        this.stepSize = stepSize;
+        this.goalCell = goalCell;
+        this.distance = distance;
+        this.reachableCells = reachableCells;
+    }
+
+    private int enqueue(long[] openCells, int[] queue, int tail, int cell, int value) {
+        if (distance[cell] != UNREACHABLE || (openCells[cell >>> 6] & (1L << cell)) == 0) {
+            return tail;
+        }
+        distance[cell] = value;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    int cols() { return cols; }
+    int rows() { return rows; }
+    int goalCell() { return goalCell; }
+    int[] distances() { return distance; }
+
+    public int getGoalX() { return (goalCell % cols) * stepSize; }
+    public int getGoalY() { return (goalCell / cols) * stepSize; }
+    public int getStepSize() { return stepSize; }
+
+    /** Number of cells the reverse BFS reached, i.e. how many it expanded. */
+    public int getReachableCells() { return reachableCells; }
+
+    /** Distance in cells from the cell containing pixel (x, y), or {@link #UNREACHABLE}. */
+    public int distanceAt(int x, int y) {
+        if (x < 0 || y < 0) {
+            return UNREACHABLE;
+        }
+        int cx = x / stepSize;
+        int cy = y / stepSize;
+        if (cx >= cols || cy >= rows) {
+            return UNREACHABLE;
+        }
+        return distance[cy * cols + cx];
+    }
+
+    /**
+     * Greedy descent from the cell containing (x, y) to the goal.
+     * Returns one {x, y} waypoint per cell, or empty if the cell cannot reach the goal.
+     */
+    public List<int[]> pathFrom(int x, int y) {
+        int remaining = distanceAt(x, y);
+        if (remaining == UNREACHABLE) {
+            return Collections.emptyList();
+        }
+
+        int cell = (y / stepSize) * cols + x / stepSize;
+        int[][] steps = new int[remaining + 1][];
+        for (int i = 0; ; i++) {
+            steps[i] = new int[]{(cell % cols) * stepSize, (cell / cols) * stepSize};
+            if (i == remaining) {
+                return Arrays.asList(steps);
+            }
+            cell = stepToward(cell, remaining - i - 1);
+        }
+    }
+
+    /** Same descent as {@link #pathFrom}, kept as straight runs with no per-cell arrays. */
+    public PathRuns runsFrom(int x, int y) {
+        int remaining = distanceAt(x, y);
+        if (remaining == UNREACHABLE) {
+            return PathRuns.EMPTY;
+        }
+
+        int cell = (y / stepSize) * cols + x / stepSize;
+        PathRuns.Builder runs = new PathRuns.Builder();
+        for (int i = 0; ; i++) {
+            runs.add((cell % cols) * stepSize, (cell / cols) * stepSize);
+            if (i == remaining) {
+                return runs.build();
+            }
+            cell = stepToward(cell, remaining - i - 1);
+        }
+    }
+
+    /** The next cell on the way to the goal from a reachable {@code cell}, or -1 at the goal itself. */
+    int nextCell(int cell) {
+        int d = distance[cell];
+        return d <= 0 ? -1 : stepToward(cell, d - 1);
+    }
+
+    /** The neighbour of {@code cell} at distance {@code want}, tried right, left, down, up. */
+    private int stepToward(int cell, int want) {
+        int cx = cell % cols;
+        int cy = cell / cols;
+        if (cx + 1 < cols && distance[cell + 1] == want) {
+            return cell + 1;
+        } else if (cx > 0 && distance[cell - 1] == want) {
+            return cell - 1;
+        } else if (cy + 1 < rows && distance[cell + cols] == want) {
+            return cell + cols;
+        } else {
+            return cell - cols;
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package edu.farmingdale.mazegame.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Abstract graph for hierarchical path-finding (HPA*). The cell grid is cut
+ * into square clusters; every run of open cells along a cluster border gets
+ * one entrance pair, and entrances inside a cluster are joined by their
+ * in-cluster BFS distance. A query searches this small graph and returns a
+ * path whose cluster-by-cluster detail is only filled in as it is read.
+ *
+ * Paths are complete (a route is found whenever one exists) and close to,
+ * but not always exactly, the shortest. The graph is immutable once built;
+ * {@link #findPath} uses shared scratch and must not run concurrently.
+ */
+class HierarchicalGraph {
+
+    private final long[] openCells;
+    private final int cols;
+    private final int rows;
+    private final int stepSize;
+    private final int clusterCells;
+    private final int clustersX;
+
+    // Abstract nodes, numbered so each cluster's nodes are contiguous.
+    private final int nodeCount;
+    private final int[] nodeCell;
+    private final int[] clusterNodeStart;
+
+    // Edges in compressed rows: node n owns edgeTarget/edgeCost[edgeStart[n] .. edgeStart[n + 1]).
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeCost;
+
+    // Query scratch; the two extra slots are the temporary start and goal nodes.
+    private final int[] gScore;
+    private final int[] parent;
+    private final int[] seenStamp;
+    private final int[] closedStamp;
+    private long[] heap = new long[256];
+    private int heapSize;
+    private int generation;
+    private final ClusterSearch search;
+
+    private HierarchicalGraph(long[] openCells, int cols, int rows, int stepSize, int clusterCells,
+                              int[] nodeCell, int[] clusterNodeStart,
+                              int[] edgeStart, int[] edgeTarget, int[] edgeCost) {
+        this.openCells = openCells;
+        this.cols = cols;
+        this.rows = rows;
+        this.stepSize = stepSize;
+        this.clusterCells = clusterCells;
+        this.clustersX = (cols + clusterCells - 1) / clusterCells;
+        this.nodeCount = nodeCell.length;
+        this.nodeCell = nodeCell;
+        this.clusterNodeStart = clusterNodeStart;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+        this.gScore = new int[nodeCount + 2];
+        this.parent = new int[nodeCount + 2];
+        this.seenStamp = new int[nodeCount + 2];
+        this.closedStamp = new int[nodeCount + 2];
+        this.search = new ClusterSearch(clusterCells);
+    }
+
+    int getNodeCount() { return nodeCount; }
+    int getEdgeCount() { return edgeTarget.length; }
+
+    // -----------------------------------------------------------------------
+    // Building
+    // -----------------------------------------------------------------------
+
+    /**
+     * Builds the abstract graph, computing in-cluster distances on all cores.
+     * Returns null if the calling thread is interrupted part way through.
+     */
+    static HierarchicalGraph build(long[] openCells, int cols, int rows, int stepSize, int clusterCells) {
+        int clustersX = (cols + clusterCells - 1) / clusterCells;
+        int clustersY = (rows + clusterCells - 1) / clusterCells;
+        int clusterCount = clustersX * clustersY;
+
+        // 1. Entrances: one pair of facing cells per open run along each shared border.
+        Map<Integer, Integer> nodeOfCell = new HashMap<>();
+        int[] cells = new int[64];
+        int[] links = new int[64];
+        int linkCount = 0;
+        for (int ky = 0; ky < clustersY; ky++) {
+            for (int kx = 0; kx < clustersX; kx++) {
+                int x0 = kx * clusterCells;
+                int y0 = ky * clusterCells;
+                int x1 = Math.min(x0 + clusterCells, cols);
+                int y1 = Math.min(y0 + clusterCells, rows);
+                if (x1 < cols) {
+                    int runStart = -1;
+                    for (int y = y0; y <= y1; y++) {
+                        boolean open = y < y1 && isOpen(openCells, y * cols + x1 - 1) && isOpen(openCells, y * cols + x1);
+                        if (open && runStart < 0) {
+                            runStart = y;
+                        } else if (!open && runStart >= 0) {
+                            int mid = (runStart + (y - 1 - runStart) / 2) * cols + x1 - 1;
+                            if (linkCount + 2 > links.length) {
+                                links = Arrays.copyOf(links, links.length * 2);
+                            }
+                            links[linkCount++] = mid;
+                            links[linkCount++] = mid + 1;
+                            runStart = -1;
+                        }
+                    }
+                }
+                if (y1 < rows) {
+                    int runStart = -1;
+                    for (int x = x0; x <= x1; x++) {
+                        boolean open = x < x1 && isOpen(openCells, (y1 - 1) * cols + x) && isOpen(openCells, y1 * cols + x);
+                        if (open && runStart < 0) {
+                            runStart = x;
+                        } else if (!open && runStart >= 0) {
+                            int mid = (y1 - 1) * cols + runStart + (x - 1 - runStart) / 2;
+                            if (linkCount + 2 > links.length) {
+                                links = Arrays.copyOf(links, links.length * 2);
+                            }
+                            links[linkCount++] = mid;
+                            links[linkCount++] = mid + cols;
+                            runStart = -1;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < linkCount; i++) {
+            if (!nodeOfCell.containsKey(links[i])) {
+                if (nodeOfCell.size() == cells.length) {
+                    cells = Arrays.copyOf(cells, cells.length * 2);
+                }
+                cells[nodeOfCell.size()] = links[i];
+                nodeOfCell.put(links[i], nodeOfCell.size());
+            }
+        }
+
+        // 2. Renumber nodes by cluster (counting sort) so each cluster's nodes are contiguous.
+        int rawCount = nodeOfCell.size();
+        int[] clusterNodeStart = new int[clusterCount + 1];
+        for (int i = 0; i < rawCount; i++) {
+            clusterNodeStart[clusterOf(cells[i], cols, clusterCells, clustersX) + 1]++;
+        }
+        for (int c = 0; c < clusterCount; c++) {
+            clusterNodeStart[c + 1] += clusterNodeStart[c];
+        }
+        int[] fill = Arrays.copyOf(clusterNodeStart, clusterCount);
+        int[] nodeCell = new int[rawCount];
+        int[] renumber = new int[rawCount];
+        for (int i = 0; i < rawCount; i++) {
+            int node = fill[clusterOf(cells[i], cols, clusterCells, clustersX)]++;
+            nodeCell[node] = cells[i];
+            renumber[i] = node;
+        }
+
+        // 3. In-cluster distances between every pair of a cluster's nodes, cluster by cluster in parallel.
+        int[][] clusterDistances = new int[clusterCount][];
+        Thread caller = Thread.currentThread();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ThreadLocal<ClusterSearch> searches = ThreadLocal.withInitial(() -> new ClusterSearch(clusterCells));
+        IntStream.range(0, clusterCount).parallel().forEach(cluster -> {
+            if (cancelled.get()) {
+                return;
+            }
+            if (caller.isInterrupted()) {
+                cancelled.set(true);
+                return;
+            }
+            int first = clusterNodeStart[cluster];
+            int k = clusterNodeStart[cluster + 1] - first;
+            int[] dist = new int[k * k];
+            ClusterSearch bfs = searches.get();
+            for (int i = 0; i < k; i++) {
+                bfs.run(openCells, cols, rows, cluster % clustersX * clusterCells, cluster / clustersX * clusterCells, nodeCell[first + i]);
+                for (int j = 0; j < k; j++) {
+                    dist[i * k + j] = bfs.distanceTo(nodeCell[first + j]);
+                }
+            }
+            clusterDistances[cluster] = dist;
+        });
+        if (cancelled.get() || caller.isInterrupted()) {
+            return null;
+        }
+
+        // 4. Flatten intra-cluster and border-crossing edges into compressed rows.
+        int[] degree = new int[rawCount + 1];
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            int first = clusterNodeStart[cluster];
+            int k = clusterNodeStart[cluster + 1] - first;
+            int[] dist = clusterDistances[cluster];
+            for (int i = 0; i < k; i++) {
+                for (int j = 0; j < k; j++) {
+                    if (i != j && dist[i * k + j] > 0) {
+                        degree[first + i + 1]++;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < linkCount; i += 2) {
+            degree[renumber[nodeOfCell.get(links[i])] + 1]++;
+            degree[renumber[nodeOfCell.get(links[i + 1])] + 1]++;
+        }
+        for (int n = 0; n < rawCount; n++) {
+            degree[n + 1] += degree[n];
+        }
+        int[] edgeStart = degree;
+        int[] cursor = Arrays.copyOf(edgeStart, rawCount);
+        int[] edgeTarget = new int[edgeStart[rawCount]];
+        int[] edgeCost = new int[edgeStart[rawCount]];
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            int first = clusterNodeStart[cluster];
+            int k = clusterNodeStart[cluster + 1] - first;
+            int[] dist = clusterDistances[cluster];
+            for (int i = 0; i < k; i++) {
+                for (int j = 0; j < k; j++) {
+                    if (i != j && dist[i * k + j] > 0) {
+                        int e = cursor[first + i]++;
+                        edgeTarget[e] = first + j;
+                        edgeCost[e] = dist[i * k + j];
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < linkCount; i += 2) {
+            int a = renumber[nodeOfCell.get(links[i])];
+            int b = renumber[nodeOfCell.get(links[i + 1])];
+            int ea = cursor[a]++;
+            edgeTarget[ea] = b;
+            edgeCost[ea] = 1;
+            int eb = cursor[b]++;
+            edgeTarget[eb] = a;
+            edgeCost[eb] = 1;
+        }
+
+        return new HierarchicalGraph(openCells, cols, rows, stepSize, clusterCells,
+                nodeCell, clusterNodeStart, edgeStart, edgeTarget, edgeCost);
+    }
+
+    private static int clusterOf(int cell, int cols, int clusterCells, int clustersX) {
+        return (cell / cols / clusterCells) * clustersX + (cell % cols) / clusterCells;
+    }
+
+    private static boolean isOpen(long[] openCells, int cell) {
+        return (openCells[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // -----------------------------------------------------------------------
+    // Queries
+    // -----------------------------------------------------------------------
+
+    /**
+     * Plans a route from start to goal (both open cells) over the abstract
+     * graph. Only the start and goal clusters are searched at cell level here;
+     * the rest of the returned path is refined as it is read. {@code expanded}
+     * receives the number of abstract nodes plus local cells examined.
+     */
+    List<int[]> findPath(int start, int goal, int[] expanded) {
+        if (start == goal) {
+            expanded[0] = 1;
+            return Collections.singletonList(new int[]{(start % cols) * stepSize, (start / cols) * stepSize});
+        }
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+        int startCluster = clusterOf(start, cols, clusterCells, clustersX);
+        int goalCluster = clusterOf(goal, cols, clusterCells, clustersX);
+        int startFirst = clusterNodeStart[startCluster];
+        int startCount = clusterNodeStart[startCluster + 1] - startFirst;
+        int goalFirst = clusterNodeStart[goalCluster];
+        int goalCount = clusterNodeStart[goalCluster + 1] - goalFirst;
+
+        // Temporary edges out of the start and into the goal, from one local BFS each.
+        int[] startEdges = new int[startCount];
+        int direct = -1;
+        search.run(openCells, cols, rows, clusterX0(startCluster), clusterY0(startCluster), start);
+        int localCells = search.getVisited();
+        for (int i = 0; i < startCount; i++) {
+            startEdges[i] = search.distanceTo(nodeCell[startFirst + i]);
+        }
+        if (goalCluster == startCluster) {
+            direct = search.distanceTo(goal);
+        }
+        int[] goalEdges = new int[goalCount];
+        search.run(openCells, cols, rows, clusterX0(goalCluster), clusterY0(goalCluster), goal);
+        localCells += search.getVisited();
+        for (int i = 0; i < goalCount; i++) {
+            goalEdges[i] = search.distanceTo(nodeCell[goalFirst + i]);
+        }
+
+        // A* over the abstract graph with a Manhattan heuristic.
+        int stamp = nextGeneration();
+        int goalX = goal % cols;
+        int goalY = goal / cols;
+        heapSize = 0;
+        int popped = 0;
+        gScore[startNode] = 0;
+        parent[startNode] = -1;
+        seenStamp[startNode] = stamp;
+        push(manhattan(start, goalX, goalY), startNode);
+        boolean found = false;
+        while (heapSize > 0) {
+            long top = pop();
+            int node = (int) top;
+            if (closedStamp[node] == stamp) {
+                continue;
+            }
+            closedStamp[node] = stamp;
+            popped++;
+            if (node == goalNode) {
+                found = true;
+                break;
+            }
+            int g = gScore[node];
+            if (node == startNode) {
+                for (int i = 0; i < startCount; i++) {
+                    if (startEdges[i] >= 0) {
+                        relax(node, startFirst + i, g + startEdges[i], goalX, goalY, stamp);
+                    }
+                }
+                if (direct >= 0) {
+                    relax(node, goalNode, g + direct, goalX, goalY, stamp);
+                }
+                continue;
+            }
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                relax(node, edgeTarget[e], g + edgeCost[e], goalX, goalY, stamp);
+            }
+            if (node >= goalFirst && node < goalFirst + goalCount && goalEdges[node - goalFirst] >= 0) {
+                relax(node, goalNode, g + goalEdges[node - goalFirst], goalX, goalY, stamp);
+            }
+        }
+        expanded[0] = popped + localCells;
+        if (!found) {
+            return Collections.emptyList();
+        }
+
+        int hops = 0;
+        for (int node = goalNode; node != -1; node = parent[node]) {
+            hops++;
+        }
+        int[] waypoints = new int[hops];
+        int[] offsets = new int[hops];
+        int i = hops - 1;
+        for (int node = goalNode; node != -1; node = parent[node], i--) {
+            waypoints[i] = node == startNode ? start : node == goalNode ? goal : nodeCell[node];
+            offsets[i] = gScore[node];
+        }
+        return new RefinedPath(waypoints, offsets);
+    }
+
+    private void relax(int from, int node, int g, int goalX, int goalY, int stamp) {
+        if (closedStamp[node] == stamp || (seenStamp[node] == stamp && g >= gScore[node])) {
+            return;
+        }
+        seenStamp[node] = stamp;
+        gScore[node] = g;
+        parent[node] = from;
+        int cell = node < nodeCount ? nodeCell[node] : goalY * cols + goalX;
+        push(g + manhattan(cell, goalX, goalY), node);
+    }
+
+    private int manhattan(int cell, int goalX, int goalY) {
+        return Math.abs(cell % cols - goalX) + Math.abs(cell / cols - goalY);
+    }
+
+    private int clusterX0(int cluster) { return (cluster % clustersX) * clusterCells; }
+    private int clusterY0(int cluster) { return (cluster / clustersX) * clusterCells; }
+
+    private int nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    private void push(int f, int node) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long entry = ((long) f << 32) | node;
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= entry) {
+                break;
+            }
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+
+    // -----------------------------------------------------------------------
+    // Lazily refined path
+    // -----------------------------------------------------------------------
+
+    /**
+     * The cell path through a list of abstract waypoints. Its length is known
+     * up front from the abstract costs; the cells between two waypoints are
+     * found by an in-cluster BFS the first time any of them is read, so the
+     * first waypoints are available long before the whole route is.
+     */
+    class RefinedPath extends AbstractList<int[]> implements RandomAccess {
+
+        private final int[] waypoints;
+        private final int[] offsets;
+        private final int[][] points;
+        private final ClusterSearch refineSearch = new ClusterSearch(clusterCells);
+        private int refinedSegments;
+
+        RefinedPath(int[] waypoints, int[] offsets) {
+            this.waypoints = waypoints;
+            this.offsets = offsets;
+            this.points = new int[offsets[offsets.length - 1] + 1][];
+            points[0] = toPoint(waypoints[0]);
+        }
+
+        @Override
+        public int size() {
+            return points.length;
+        }
+
+        @Override
+        public synchronized int[] get(int index) {
+            if (index < 0 || index >= points.length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            while (points[index] == null) {
+                refine(refinedSegments++);
+            }
+            return points[index];
+        }
+
+        /**
+         * The same path as runs, refined one abstract segment at a time as a
+         * cursor reaches it rather than all at once.
+         */
+        PathRuns toRuns() {
+            int[] next = new int[1];
+            return PathRuns.lazy(runs -> {
+                int segmentEnd = offsets[segmentOf(next[0])];
+                while (next[0] <= segmentEnd) {
+                    int[] point = get(next[0]++);
+                    runs.add(point[0], point[1]);
+                }
+                return next[0] < points.length;
+            });
+        }
+
+        /** Index of the first waypoint at or after path index {@code index}. */
+        private int segmentOf(int index) {
+            int segment = Arrays.binarySearch(offsets, index);
+            return segment >= 0 ? segment : -segment - 1;
+        }
+
+        private void refine(int segment) {
+            int from = waypoints[segment];
+            int to = waypoints[segment + 1];
+            int base = offsets[segment];
+            int length = offsets[segment + 1] - base;
+            if (length == 1) {
+                points[base + 1] = toPoint(to);
+                return;
+            }
+            // Both ends share a cluster: walk BFS parents back from the far end.
+            int cluster = clusterOf(from, cols, clusterCells, clustersX);
+            refineSearch.run(openCells, cols, rows, clusterX0(cluster), clusterY0(cluster), from);
+            int cell = to;
+            for (int i = base + length; i > base; i--) {
+                points[i] = toPoint(cell);
+                cell = refineSearch.parentOf(cell);
+            }
+        }
+
+        private int[] toPoint(int cell) {
+            return new int[]{(cell % cols) * stepSize, (cell / cols) * stepSize};
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // BFS confined to one cluster
+    // -----------------------------------------------------------------------
+
+    /** Reusable BFS over a single cluster, with generation-stamped arrays. */
+    private static final class ClusterSearch {
+        private final int size;
+        private final int[] dist;
+        private final int[] parentCell;
+        private final int[] stamp;
+        private final int[] queue;
+        private int generation;
+        private int cols;
+        private int x0;
+        private int y0;
+        private int visited;
+
+        ClusterSearch(int clusterCells) {
+            this.size = clusterCells;
+            int area = clusterCells * clusterCells;
+            this.dist = new int[area];
+            this.parentCell = new int[area];
+            this.stamp = new int[area];
+            this.queue = new int[area];
+        }
+
+        void run(long[] openCells, int cols, int rows, int x0, int y0, int source) {
+            this.cols = cols;
+            this.x0 = x0;
+            this.y0 = y0;
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            int x1 = Math.min(x0 + size, cols);
+            int y1 = Math.min(y0 + size, rows);
+            int head = 0;
+            int tail = 0;
+            int local = local(source);
+            stamp[local] = generation;
+            dist[local] = 0;
+            parentCell[local] = -1;
+            queue[tail++] = source;
+            while (head < tail) {
+                int cur = queue[head++];
+                int next = dist[local(cur)] + 1;
+                int cx = cur % cols;
+                int cy = cur / cols;
+                if (cx + 1 < x1) tail = visit(openCells, cur, cur + 1, next, tail);
+                if (cx > x0)     tail = visit(openCells, cur, cur - 1, next, tail);
+                if (cy + 1 < y1) tail = visit(openCells, cur, cur + cols, next, tail);
+                if (cy > y0)     tail = visit(openCells, cur, cur - cols, next, tail);
+            }
+            visited = tail;
+        }
+
+        private int visit(long[] openCells, int from, int cell, int value, int tail) {
+            int local = local(cell);
+            if (stamp[local] == generation || !isOpen(openCells, cell)) {
+                return tail;
+            }
+            stamp[local] = generation;
+            dist[local] = value;
+            parentCell[local] = from;
+            queue[tail] = cell;
+            return tail + 1;
+        }
+
+        /** In-cluster distance from the last source, or -1 if unreachable inside the cluster. */
+        int distanceTo(int cell) {
+            int local = local(cell);
+            return stamp[local] == generation ? dist[local] : -1;
+        }
+
+        int parentOf(int cell) {
+            return parentCell[local(cell)];
+        }
+
+        int getVisited() {
+            return visited;
+        }
+
+        private int local(int cell) {
+            return (cell / cols - y0) * size + (cell % cols - x0);
+        }
+    }
+}
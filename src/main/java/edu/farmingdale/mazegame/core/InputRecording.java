@@ -0,0 +1,208 @@
+package edu.farmingdale.mazegame.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append-only log of the arrow keys held on each fixed simulation tick, so
+ * a play session can be replayed exactly: movement depends only on the keys
+ * and the tick length, never on wall-clock frame times.
+ *
+ * Layout (big-endian, as written by DataOutputStream):
+ * <pre>
+ * int    magic "MZRP", byte version
+ * UTF    level file name
+ * byte   player (0 = robot, 1 = car)
+ * long   seed, int ticks per second
+ * double startX, startY
+ * then per key change: varint ticks since the previous change, byte key mask
+ * and at the end:       varint ticks since the previous change, byte 0xFF
+ * </pre>
+ * Ticks are counted from 1. A log cut short by a crash replays up to its last change.
+ *
+ * Only key-driven movement can be recorded: the game ends a recording as soon
+ * as an auto-solve starts moving the player on the recorded level.
+ */
+public final class InputRecording {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    public static final int UP = 4;
+    public static final int DOWN = 8;
+    /** File extension used for recordings. */
+    public static final String EXTENSION = ".mzr";
+
+    private static final int MAGIC = 0x4D5A5250;
+    private static final int VERSION = 1;
+    private static final int END = 0xFF;
+
+    private InputRecording() {
+    }
+
+    /** What a recording was made on, and where the player stood when it started. */
+    public record Header(String level, boolean car, long seed, int ticksPerSecond, double startX, double startY) {
+    }
+
+    /**
+     * Writes the unit direction the keys in {@code keys} push the player into
+     * {@code out} as {dx, dy}, diagonals normalized. Returns false if they cancel out.
+     * The game and replays both move through this, so they round identically.
+     */
+    public static boolean direction(int keys, double[] out) {
+        double dirX = ((keys & RIGHT) != 0 ? 1 : 0) - ((keys & LEFT) != 0 ? 1 : 0);
+        double dirY = ((keys & DOWN) != 0 ? 1 : 0) - ((keys & UP) != 0 ? 1 : 0);
+        if (dirX == 0 && dirY == 0) {
+            return false;
+        }
+        double len = Math.hypot(dirX, dirY);
+        out[0] = dirX / len;
+        out[1] = dirY / len;
+        return true;
+    }
+
+    /** Records one session; call {@link #tick} once per simulation tick. */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private long tick;
+        private long lastChangeTick;
+        private int keys;
+
+        public Writer(Path file, Header header) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(header.level());
+            out.writeByte(header.car() ? 1 : 0);
+            out.writeLong(header.seed());
+            out.writeInt(header.ticksPerSecond());
+            out.writeDouble(header.startX());
+            out.writeDouble(header.startY());
+            out.flush();
+        }
+
+        /** Logs the keys held during the next tick. Only changes reach the file. */
+        public void tick(int heldKeys) throws IOException {
+            tick++;
+            if (heldKeys != keys) {
+                writeChange(heldKeys);
+                // Flushed per change, which is rare, so a crash loses at most the last hold.
+                out.flush();
+            }
+        }
+
+        public long getTicks() { return tick; }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writeVarint(out, tick + 1 - lastChangeTick);
+                out.writeByte(END);
+            } finally {
+                out.close();
+            }
+        }
+
+        private void writeChange(int newKeys) throws IOException {
+            writeVarint(out, tick - lastChangeTick);
+            out.writeByte(newKeys);
+            lastChangeTick = tick;
+            keys = newKeys;
+        }
+    }
+
+    /** Plays a recording back one tick at a time. */
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final Header header;
+        private long tick;
+        private long nextChangeTick;
+        private int nextKeys;
+        private int keys;
+        private boolean ended;
+
+        public Reader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException(file + " is not an input recording");
+                }
+                int version = in.readUnsignedByte();
+                if (version != VERSION) {
+                    throw new IOException(file + " has format version " + version + ", expected " + VERSION);
+                }
+                header = new Header(in.readUTF(), in.readUnsignedByte() == 1, in.readLong(), in.readInt(),
+                        in.readDouble(), in.readDouble());
+                readChange();
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        public Header header() { return header; }
+
+        /** Keys held during the next tick, or -1 once the recording is over (and on every call after). */
+        public int nextTick() throws IOException {
+            if (ended) {
+                return -1;
+            }
+            tick++;
+            while (tick == nextChangeTick) {
+                if (nextKeys == END) {
+                    tick--;
+                    ended = true;
+                    return -1;
+                }
+                keys = nextKeys;
+                readChange();
+            }
+            return keys;
+        }
+
+        /** Ticks handed out so far, not counting the call that found the end. */
+        public long getTicks() { return tick; }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void readChange() throws IOException {
+            try {
+                nextChangeTick += readVarint(in);
+                nextKeys = in.readUnsignedByte();
+            } catch (EOFException e) {
+                // Cut short: end right after the last change that made it to disk.
+                nextChangeTick = tick + 1;
+                nextKeys = END;
+            }
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint too long");
+    }
+}
@@ -0,0 +1,271 @@
+package edu.farmingdale.mazegame.core;
+
+import edu.farmingdale.mazegame.events.MarkerDetectionEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the blue and red circle markers drawn on challenger levels and
+ * returns the centroid of each connected marker blob.
+ *
+ * Labeling works on horizontal runs read straight from the grid's marker
+ * bits, a word at a time. The image is cut into row stripes that are labeled
+ * in parallel with a union-find each; the stripes are then stitched together
+ * by merging runs that touch across stripe borders.
+ */
+public final class MarkerDetector {
+
+    private static final int STRIPE_ROWS = 64;
+
+    private MarkerDetector() {
+    }
+
+    /** Blue and red marker centroids, each list in scan order of the blob's first pixel. */
+    public record Markers(List<double[]> blue, List<double[]> red) {
+    }
+
+    /** Labels both marker colors in one striped pass. Both lists are empty on regular levels. */
+    public static Markers findAllMarkerCenters(MazeGrid grid) {
+        long[] blueBits = grid.blueMarkerBits();
+        long[] redBits = grid.redMarkerBits();
+        if (blueBits == null) {
+            return new Markers(new ArrayList<>(), new ArrayList<>());
+        }
+
+        MarkerDetectionEvent event = new MarkerDetectionEvent();
+        event.begin();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        RunTable[] blue = new RunTable[stripeCount(height)];
+        RunTable[] red = new RunTable[blue.length];
+        IntStream.range(0, blue.length).parallel().forEach(stripe -> {
+            int firstRow = stripe * STRIPE_ROWS;
+            int endRow = Math.min(height, firstRow + STRIPE_ROWS);
+            blue[stripe] = RunTable.scan(blueBits, width, firstRow, endRow);
+            red[stripe] = RunTable.scan(redBits, width, firstRow, endRow);
+        });
+        Markers markers = new Markers(centers(blue), centers(red));
+        commit(event, grid, markers.blue().size(), markers.red().size());
+        return markers;
+    }
+
+    /** Returns {x, y} centroids of every 4-connected blob of marker pixels, in scan order. */
+    public static List<double[]> findMarkerCenters(MazeGrid grid, boolean blueMarker) {
+        long[] bits = blueMarker ? grid.blueMarkerBits() : grid.redMarkerBits();
+        if (bits == null) {
+            return new ArrayList<>();
+        }
+
+        MarkerDetectionEvent event = new MarkerDetectionEvent();
+        event.begin();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        RunTable[] stripes = new RunTable[stripeCount(height)];
+        IntStream.range(0, stripes.length).parallel().forEach(stripe -> {
+            int firstRow = stripe * STRIPE_ROWS;
+            stripes[stripe] = RunTable.scan(bits, width, firstRow, Math.min(height, firstRow + STRIPE_ROWS));
+        });
+        List<double[]> centers = centers(stripes);
+        commit(event, grid, blueMarker ? centers.size() : -1, blueMarker ? -1 : centers.size());
+        return centers;
+    }
+
+    private static void commit(MarkerDetectionEvent event, MazeGrid grid, int blueMarkers, int redMarkers) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.width = grid.getWidth();
+            event.height = grid.getHeight();
+            event.blueMarkers = blueMarkers;
+            event.redMarkers = redMarkers;
+            event.commit();
+        }
+    }
+
+    private static int stripeCount(int height) {
+        return (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+    }
+
+    /**
+     * Joins the stripes' runs into one union-find, merges components across
+     * stripe borders and averages each component's pixels.
+     */
+    private static List<double[]> centers(RunTable[] stripes) {
+        int[] offsets = new int[stripes.length + 1];
+        for (int s = 0; s < stripes.length; s++) {
+            offsets[s + 1] = offsets[s] + stripes[s].count;
+        }
+        int total = offsets[stripes.length];
+        int[] parent = new int[total];
+        for (int s = 0; s < stripes.length; s++) {
+            RunTable table = stripes[s];
+            for (int i = 0; i < table.count; i++) {
+                parent[offsets[s] + i] = offsets[s] + table.find(i);
+            }
+        }
+
+        for (int s = 1; s < stripes.length; s++) {
+            RunTable above = stripes[s - 1];
+            RunTable below = stripes[s];
+            int rows = above.rowStart.length - 1;
+            mergeOverlapping(parent,
+                    above, offsets[s - 1], above.rowStart[rows - 1], above.rowStart[rows],
+                    below, offsets[s], below.rowStart[0], below.rowStart[1]);
+        }
+
+        // Roots are always the lowest run index of their component, and run
+        // indices follow scan order, so walking them in order keeps the output
+        // in the order the blobs are first met.
+        long[] sumX = new long[total];
+        long[] sumY = new long[total];
+        long[] count = new long[total];
+        for (int s = 0; s < stripes.length; s++) {
+            RunTable table = stripes[s];
+            for (int i = 0; i < table.count; i++) {
+                int root = find(parent, offsets[s] + i);
+                long start = table.start[i];
+                long end = table.end[i];
+                long length = end - start;
+                sumX[root] += (start + end - 1) * length / 2;
+                sumY[root] += (long) table.row[i] * length;
+                count[root] += length;
+            }
+        }
+
+        List<double[]> centers = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (parent[i] == i) {
+                centers.add(new double[]{(double) sumX[i] / count[i], (double) sumY[i] / count[i]});
+            }
+        }
+        return centers;
+    }
+
+    /** Unions every pair of runs in two adjacent rows whose x ranges overlap. */
+    private static void mergeOverlapping(int[] parent,
+                                         RunTable upper, int upperOffset, int upperFrom, int upperTo,
+                                         RunTable lower, int lowerOffset, int lowerFrom, int lowerTo) {
+        int a = upperFrom;
+        int b = lowerFrom;
+        while (a < upperTo && b < lowerTo) {
+            if (upper.start[a] < lower.end[b] && lower.start[b] < upper.end[a]) {
+                union(parent, upperOffset + a, lowerOffset + b);
+            }
+            if (upper.end[a] <= lower.end[b]) {
+                a++;
+            } else {
+                b++;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /** Links the larger root under the smaller one so each root is its component's first run. */
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra < rb) {
+            parent[rb] = ra;
+        } else if (rb < ra) {
+            parent[ra] = rb;
+        }
+    }
+
+    /** Horizontal marker runs of one row stripe, with a stripe-local union-find over them. */
+    private static final class RunTable {
+        int[] row = new int[16];
+        int[] start = new int[16];
+        int[] end = new int[16];
+        int[] parent = new int[16];
+        int count;
+        /** Index of the first run of each stripe row; one extra entry closes the last row. */
+        final int[] rowStart;
+
+        private RunTable(int rows) {
+            rowStart = new int[rows + 1];
+        }
+
+        static RunTable scan(long[] bits, int width, int firstRow, int endRow) {
+            RunTable table = new RunTable(endRow - firstRow);
+            for (int y = firstRow; y < endRow; y++) {
+                int local = y - firstRow;
+                table.rowStart[local] = table.count;
+                long base = (long) y * width;
+                long limit = base + width;
+                long x = nextSetBit(bits, base, limit);
+                while (x < limit) {
+                    long runEnd = nextClearBit(bits, x, limit);
+                    table.add(y, (int) (x - base), (int) (runEnd - base));
+                    x = nextSetBit(bits, runEnd, limit);
+                }
+                if (local > 0) {
+                    mergeOverlapping(table.parent,
+                            table, 0, table.rowStart[local - 1], table.rowStart[local],
+                            table, 0, table.rowStart[local], table.count);
+                }
+            }
+            table.rowStart[endRow - firstRow] = table.count;
+            return table;
+        }
+
+        private void add(int y, int x0, int x1) {
+            if (count == row.length) {
+                int capacity = count * 2;
+                row = Arrays.copyOf(row, capacity);
+                start = Arrays.copyOf(start, capacity);
+                end = Arrays.copyOf(end, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+            }
+            row[count] = y;
+            start[count] = x0;
+            end[count] = x1;
+            parent[count] = count;
+            count++;
+        }
+
+        int find(int i) {
+            return MarkerDetector.find(parent, i);
+        }
+    }
+
+    /** First set bit in [from, limit), or {@code limit} if there is none. */
+    private static long nextSetBit(long[] words, long from, long limit) {
+        if (from >= limit) {
+            return limit;
+        }
+        int w = (int) (from >>> 6);
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if ((long) ++w << 6 >= limit) {
+                return limit;
+            }
+            word = words[w];
+        }
+        return Math.min(limit, ((long) w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /** First clear bit in [from, limit), or {@code limit} if the range is all set. */
+    private static long nextClearBit(long[] words, long from, long limit) {
+        if (from >= limit) {
+            return limit;
+        }
+        int w = (int) (from >>> 6);
+        long word = ~words[w] & (-1L << from);
+        while (word == 0) {
+            if ((long) ++w << 6 >= limit) {
+                return limit;
+            }
+            word = ~words[w];
+        }
+        return Math.min(limit, ((long) w << 6) + Long.numberOfTrailingZeros(word));
+    }
+}
@@ -0,0 +1,202 @@
+package edu.farmingdale.mazegame.core;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bit-packed walkability map for a maze image, one bit per pixel.
+ * The image is classified once (white/orange/purple floor, plus challenger
+ * markers and light path shades) so collision and solving only test bits.
+ * Challenger levels also keep one bit per pixel for the blue and red markers.
+ *
+ * Nothing here depends on JavaFX: grids load from PNG through ImageIO, from
+ * raw ARGB/RGBA pixels, or row stripe by row stripe from any other decoder.
+ */
+public class MazeGrid {
+
+    private static final int STRIPE_ROWS = 64;
+
+    private final int width;
+    private final int height;
+    private final boolean challengerLevel;
+    private final long[] bits;
+    private final long[] blueBits;
+    private final long[] redBits;
+
+    /**
+     * Creates an all-blocked grid. Fill it with {@link #classifyRows} when
+     * pixels arrive in stripes; otherwise use one of the static factories.
+     */
+    public MazeGrid(int width, int height, boolean challengerLevel) {
+        this.width = width;
+        this.height = height;
+        this.challengerLevel = challengerLevel;
+        int words = (int) (((long) width * height + 63) >>> 6);
+        this.bits = new long[words];
+        this.blueBits = challengerLevel ? new long[words] : null;
+        this.redBits = challengerLevel ? new long[words] : null;
+    }
+
+    /** Wraps already classified bits, as stored by {@link CompiledLevel}. */
+    MazeGrid(int width, int height, boolean challengerLevel, long[] bits, long[] blueBits, long[] redBits) {
+        this.width = width;
+        this.height = height;
+        this.challengerLevel = challengerLevel;
+        this.bits = bits;
+        this.blueBits = blueBits;
+        this.redBits = redBits;
+    }
+
+    /** Classifies a full image of ARGB pixels laid out row by row. */
+    public static MazeGrid fromArgb(int width, int height, int[] argb, boolean challengerLevel) {
+        MazeGrid grid = new MazeGrid(width, height, challengerLevel);
+        grid.classifyRows(argb, 0, height);
+        return grid;
+    }
+
+    /** Classifies raw RGBA bytes (4 per pixel, row by row), as produced by most decoders. */
+    public static MazeGrid fromRgba(int width, int height, byte[] rgba, boolean challengerLevel) {
+        MazeGrid grid = new MazeGrid(width, height, challengerLevel);
+        int[] stripe = new int[width * Math.min(STRIPE_ROWS, Math.max(1, height))];
+        for (int y = 0; y < height; y += STRIPE_ROWS) {
+            int rows = Math.min(STRIPE_ROWS, height - y);
+            int src = y * width * 4;
+            for (int i = 0; i < rows * width; i++, src += 4) {
+                stripe[i] = ((rgba[src + 3] & 0xff) << 24) | ((rgba[src] & 0xff) << 16)
+                        | ((rgba[src + 1] & 0xff) << 8) | (rgba[src + 2] & 0xff);
+            }
+            grid.classifyRows(stripe, y, rows);
+        }
+        return grid;
+    }
+
+    /** Decodes an image (PNG or anything else ImageIO reads) and classifies it. */
+    public static MazeGrid read(InputStream in, boolean challengerLevel) throws IOException {
+        BufferedImage image = ImageIO.read(in);
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        MazeGrid grid = new MazeGrid(width, height, challengerLevel);
+        int[] stripe = new int[width * Math.min(STRIPE_ROWS, Math.max(1, height))];
+        for (int y = 0; y < height; y += STRIPE_ROWS) {
+            int rows = Math.min(STRIPE_ROWS, height - y);
+            image.getRGB(0, y, width, rows, stripe, 0, width);
+            grid.classifyRows(stripe, y, rows);
+        }
+        return grid;
+    }
+
+    public static MazeGrid read(Path file, boolean challengerLevel) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, challengerLevel);
+        }
+    }
+
+    /**
+     * Classifies {@code rows} rows of ARGB pixels, starting at image row
+     * {@code firstRow}, from a buffer that holds exactly those rows.
+     */
+    public void classifyRows(int[] argb, int firstRow, int rows) {
+        for (int row = 0; row < rows; row++) {
+            int src = row * width;
+            long dst = (long) (firstRow + row) * width;
+            for (int x = 0; x < width; x++, src++, dst++) {
+                int pixel = argb[src];
+                int word = (int) (dst >>> 6);
+                long mask = 1L << dst;
+                if (isWalkableColor(pixel, challengerLevel)) {
+                    bits[word] |= mask;
+                }
+                if (challengerLevel) {
+                    if (isBlueMarker(pixel)) {
+                        blueBits[word] |= mask;
+                    } else if (isRedMarker(pixel)) {
+                        redBits[word] |= mask;
+                    }
+                }
+            }
+        }
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public boolean isChallengerLevel() { return challengerLevel; }
+
+    /** Returns false for any pixel outside the image. */
+    public boolean isWalkable(int x, int y) {
+        return test(bits, x, y);
+    }
+
+    /** Blue challenger marker pixel; always false on regular levels. */
+    public boolean isBlueMarker(int x, int y) {
+        return blueBits != null && test(blueBits, x, y);
+    }
+
+    /** Red challenger marker pixel; always false on regular levels. */
+    public boolean isRedMarker(int x, int y) {
+        return redBits != null && test(redBits, x, y);
+    }
+
+    /** Raw walkability bits, row-major, one per pixel. */
+    long[] walkableBits() { return bits; }
+
+    /** Raw marker bits (row-major, one per pixel) for bulk scans; null on regular levels. */
+    long[] blueMarkerBits() { return blueBits; }
+    long[] redMarkerBits() { return redBits; }
+
+    private boolean test(long[] words, int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        long index = (long) y * width + x;
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    // -----------------------------------------------------------------------
+    // Color classification (same thresholds the game always used on Color).
+    // Changing any rule here must bump MazeLevel.RULES_VERSION.
+    // -----------------------------------------------------------------------
+
+    static boolean isWalkableColor(int argb, boolean challengerLevel) {
+        double r = ((argb >> 16) & 0xff) / 255.0;
+        double g = ((argb >> 8) & 0xff) / 255.0;
+        double b = (argb & 0xff) / 255.0;
+
+        boolean isWhite = r > 0.85 && g > 0.85 && b > 0.85;
+        boolean isOrange = r > 0.6 && g > 0.1 && g < 0.8 && b < 0.15;
+        boolean isPurple = r > 0.3 && r < 0.8 && g < 0.2 && b > 0.3;
+        // Anti-aliased edge between white floor and an orange marker: a blend of the
+        // two, so green sits between orange's and white's and blue trails green.
+        // Point sampling used to step over these pixels; exact hitbox checks would
+        // snag on them. Pure reds and warm greys fail the green or blue test.
+        boolean isOrangeFringe = r > 0.75 && r > g && g > 0.35 && b < g - 0.05;
+        if (isWhite || isOrange || isPurple || isOrangeFringe) {
+            return true;
+        }
+        if (!challengerLevel) {
+            return false;
+        }
+        double brightness = Math.max(r, Math.max(g, b));
+        return isBlueMarker(argb) || isRedMarker(argb) || brightness > 0.78;
+    }
+
+    static boolean isBlueMarker(int argb) {
+        double r = ((argb >> 16) & 0xff) / 255.0;
+        double g = ((argb >> 8) & 0xff) / 255.0;
+        double b = (argb & 0xff) / 255.0;
+        return b > 0.6 && r < 0.35 && g < 0.55;
+    }
+
+    static boolean isRedMarker(int argb) {
+        double r = ((argb >> 16) & 0xff) / 255.0;
+        double g = ((argb >> 8) & 0xff) / 255.0;
+        double b = (argb & 0xff) / 255.0;
+        return r > 0.6 && g < 0.35 && b < 0.35;
+    }
+}
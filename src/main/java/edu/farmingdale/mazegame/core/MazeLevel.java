@@ -0,0 +1,481 @@
+package edu.farmingdale.mazegame.core;
+
+import edu.farmingdale.mazegame.events.LevelBuildEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Toolkit-independent state of one maze level: the classified grid, spawn
+ * and exit, player size, and the player's position. Collision, movement and
+ * solving all live here so they run without JavaFX (batch jobs, tests,
+ * benchmarks); the game's Maze class only renders a MazeLevel.
+ */
+public class MazeLevel {
+
+    // =========================================================
+    // HARDCODED SPAWN AND END LOCATIONS
+    // Change these values to move the start/end markers, and bump
+    // RULES_VERSION so levels compiled with the old ones are rebuilt.
+    // =========================================================
+
+    // Maze 1
+    private static final double MAZE1_SPAWN_X = 25;
+    private static final double MAZE1_SPAWN_Y = 265;
+    private static final double MAZE1_END_X = 580;
+    private static final double MAZE1_END_Y = 250;
+
+    // Maze 2
+    private static final double MAZE2_SPAWN_X = 25;
+    private static final double MAZE2_SPAWN_Y = 20;
+    private static final double MAZE2_END_X = 440;
+    private static final double MAZE2_END_Y = 310;
+
+    // Maze 3
+    private static final double MAZE3_SPAWN_X = 490;
+    private static final double MAZE3_SPAWN_Y = 30;
+    private static final double MAZE3_END_X = 715;
+    private static final double MAZE3_END_Y = 820;
+
+    // =========================================================
+
+    /**
+     * Version of everything besides the image that decides how a level is laid
+     * out: the colour rules in MazeGrid, the spawn and exit points above, player
+     * sizes, hitbox inset, display scales and step size. {@link CompiledLevel}
+     * stores it, so bump it with any change to those and old files are recompiled.
+     */
+    public static final int RULES_VERSION = 1;
+
+    private static final String CHALLENGER_FILE = "challenger.png";
+    private static final List<String> BUNDLED_FILES = List.of("maze.png", "maze2.png", "maze3.png", CHALLENGER_FILE);
+    private static final double DEFAULT_PLAYER_SIZE = 20;
+    private static final double CHALLENGER_PLAYER_SIZE = 12;
+    private static final double DEFAULT_MOVE_SPEED = 140.0;
+    private static final double CHALLENGER_MOVE_SPEED = 55.0;
+    private static final double DEFAULT_DISPLAY_SCALE = 1.0;
+    private static final double CHALLENGER_DISPLAY_SCALE = 0.68;
+    private static final double CHALLENGER_HITBOX_INSET = 2.0;
+    private static final int STEP_SIZE = 4;
+    /** Sweeps shorter than this (a player already touching the wall) count as no move. */
+    private static final double MIN_MOVE = 1e-4;
+    // Set these to real values in challenger.png pixel coordinates.
+    // Use -1 to fall back to auto-detecting blue/red circle centers.
+    private static final double CHALLENGER_SPAWN_X = -1;
+    private static final double CHALLENGER_SPAWN_Y = -1;
+    private static final double CHALLENGER_END_X = -1;
+    private static final double CHALLENGER_END_Y = -1;
+
+    private final String name;
+    private final MazeGrid grid;
+    private final ClearanceMap clearance;
+    private final MazeSolver solver;
+    private final int width;
+    private final int height;
+    private final boolean challengerLevel;
+    private final double playerSize;
+    private final double displayScale;
+    private final int stepSize = STEP_SIZE;
+    private double playerX;
+    private double playerY;
+    private double endX;
+    private double endY;
+    private double lastMoveDx;
+    private double lastMoveDy;
+    private int collisionSweeps;
+    private volatile NearestOpenCells nearestOpen;
+
+    /**
+     * Lays out a level from an already classified grid. The file name picks the
+     * hardcoded spawn/exit, or marker detection for the challenger level.
+     */
+    public MazeLevel(String mazeFileName, MazeGrid grid) {
+        this(mazeFileName, grid, isChallengerFile(mazeFileName));
+
+        if (mazeFileName.equals("maze.png")) {
+            playerX = MAZE1_SPAWN_X;
+            playerY = MAZE1_SPAWN_Y;
+            endX = MAZE1_END_X;
+            endY = MAZE1_END_Y;
+        } else if (mazeFileName.equals("maze2.png")) {
+            playerX = MAZE2_SPAWN_X;
+            playerY = MAZE2_SPAWN_Y;
+            endX = MAZE2_END_X;
+            endY = MAZE2_END_Y;
+        } else if (mazeFileName.equals("maze3.png")) {
+            playerX = MAZE3_SPAWN_X;
+            playerY = MAZE3_SPAWN_Y;
+            endX = MAZE3_END_X;
+            endY = MAZE3_END_Y;
+        } else if (challengerLevel) {
+            setChallengerSpawnAndEnd();
+        } else {
+            throw new IllegalArgumentException("Unsupported maze file: " + mazeFileName);
+        }
+    }
+
+    /**
+     * Lays out a level with an explicit spawn and exit, for grids that are not
+     * one of the bundled files (generated or synthetic mazes). Challenger rules
+     * apply when the grid was classified as a challenger level.
+     */
+    public MazeLevel(String name, MazeGrid grid, double spawnX, double spawnY, double endX, double endY) {
+        this(name, grid, grid.isChallengerLevel());
+        this.playerX = spawnX;
+        this.playerY = spawnY;
+        this.endX = endX;
+        this.endY = endY;
+    }
+
+    /**
+     * Lays out any challenger-classified grid the way challenger.png is laid
+     * out: spawn on the blue (or top red) marker, exit at the bottom-right.
+     */
+    public static MazeLevel fromMarkers(String name, MazeGrid grid) {
+        if (!grid.isChallengerLevel()) {
+            throw new IllegalArgumentException(name + ": marker detection needs a challenger grid");
+        }
+        MazeLevel level = new MazeLevel(name, grid, true);
+        level.setChallengerSpawnAndEnd();
+        return level;
+    }
+
+    private MazeLevel(String name, MazeGrid grid, boolean challengerLevel) {
+        LevelBuildEvent event = new LevelBuildEvent();
+        event.begin();
+        this.name = name;
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.challengerLevel = challengerLevel;
+        clearance = new ClearanceMap(grid);
+        playerSize = challengerLevel ? CHALLENGER_PLAYER_SIZE : DEFAULT_PLAYER_SIZE;
+        displayScale = challengerLevel ? CHALLENGER_DISPLAY_SCALE : DEFAULT_DISPLAY_SCALE;
+        solver = new MazeSolver(clearance, stepSize, (int) playerSize, challengerLevel);
+        event.end();
+        if (event.shouldCommit()) {
+            event.level = name;
+            event.width = width;
+            event.height = height;
+            event.challenger = challengerLevel;
+            event.commit();
+        }
+    }
+
+    /** Loads a bundled level from the classpath root, decoding it with ImageIO. */
+    public static MazeLevel load(String mazeFileName) throws IOException {
+        try (InputStream in = MazeLevel.class.getResourceAsStream("/" + mazeFileName)) {
+            if (in == null) {
+                throw new IOException(mazeFileName + " not found in resources!");
+            }
+            return new MazeLevel(mazeFileName, MazeGrid.read(in, isChallengerFile(mazeFileName)));
+        }
+    }
+
+    /**
+     * Loads a maze image from disk. Spawn and exit come from a sidecar
+     * {@code <name>.properties} (spawnX, spawnY, endX, endY, challenger) when
+     * there is one; otherwise bundled file names keep their hardcoded points
+     * and any other image is laid out from its challenger markers.
+     */
+    public static MazeLevel load(Path file) throws IOException {
+        return load(file, challenger -> MazeGrid.read(file, challenger));
+    }
+
+    /**
+     * Same as {@link #load(Path)} but classifies pixels through {@code reader},
+     * for callers that already decoded the image another way.
+     */
+    public static MazeLevel load(Path file, GridReader reader) throws IOException {
+        String fileName = file.getFileName().toString();
+        Properties config = readSidecar(file);
+
+        if (config != null) {
+            boolean challenger = Boolean.parseBoolean(config.getProperty("challenger", "false"));
+            MazeGrid grid = reader.read(challenger);
+            if (challenger && !config.containsKey("spawnX")) {
+                return fromMarkers(fileName, grid);
+            }
+            return new MazeLevel(fileName, grid,
+                    requireNumber(config, "spawnX", file), requireNumber(config, "spawnY", file),
+                    requireNumber(config, "endX", file), requireNumber(config, "endY", file));
+        }
+        if (BUNDLED_FILES.contains(fileName)) {
+            return new MazeLevel(fileName, reader.read(isChallengerFile(fileName)));
+        }
+        return fromMarkers(fileName, reader.read(true));
+    }
+
+    /** Classifies an image once the level knows whether challenger rules apply. */
+    @FunctionalInterface
+    public interface GridReader {
+        MazeGrid read(boolean challengerLevel) throws IOException;
+    }
+
+    /** The {@code <name>.properties} file next to a maze image. */
+    public static Path sidecarFor(Path mazeFile) {
+        String fileName = mazeFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return mazeFile.resolveSibling(baseName + ".properties");
+    }
+
+    private static Properties readSidecar(Path mazeFile) throws IOException {
+        Path sidecar = sidecarFor(mazeFile);
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        Properties config = new Properties();
+        try (InputStream in = Files.newInputStream(sidecar)) {
+            config.load(in);
+        }
+        return config;
+    }
+
+    private static double requireNumber(Properties config, String key, Path file) {
+        String value = config.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException(file.getFileName() + ": sidecar is missing " + key);
+        }
+        return Double.parseDouble(value.trim());
+    }
+
+    /** Challenger levels use marker detection, a smaller player and extra walkable shades. */
+    public static boolean isChallengerFile(String mazeFileName) {
+        return CHALLENGER_FILE.equals(mazeFileName);
+    }
+
+    public String getName() { return name; }
+    public MazeGrid getGrid() { return grid; }
+    public ClearanceMap getClearance() { return clearance; }
+    public MazeSolver getSolver() { return solver; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public boolean isChallengerLevel() { return challengerLevel; }
+    public double getPlayerX() { return playerX; }
+    public double getPlayerY() { return playerY; }
+    public double getEndX() { return endX; }
+    public double getEndY() { return endY; }
+    public int getStepSize() { return stepSize; }
+    public double getPlayerSize() { return playerSize; }
+    public double getDisplayScale() { return displayScale; }
+    public double getMoveSpeedPxPerSecond() { return challengerLevel ? CHALLENGER_MOVE_SPEED : DEFAULT_MOVE_SPEED; }
+    /** Movement actually applied by the last {@link #moveBy} call. */
+    public double getLastMoveDx() { return lastMoveDx; }
+    public double getLastMoveDy() { return lastMoveDy; }
+
+    /** Collision sweeps run by {@link #moveBy} since the last call; resets the count. */
+    public int takeCollisionSweeps() {
+        int sweeps = collisionSweeps;
+        collisionSweeps = 0;
+        return sweeps;
+    }
+
+    /** Places the player without collision checks (auto-solve animation). */
+    public void setPlayerPosition(double x, double y) {
+        playerX = x;
+        playerY = y;
+    }
+
+    /**
+     * Shortest walking distance from the player to the exit in pixels, read from
+     * the cached exit distance field. Returns -1 until the field is ready or when
+     * no neighbouring cell of the player can reach the exit.
+     */
+    public int getDistanceToExit() {
+        GoalDistanceField field = solver.peekDistanceField();
+        if (field == null) {
+            return -1;
+        }
+        // The player rarely sits exactly on a cell corner; use the best of the cells around it.
+        int left = (int) playerX;
+        int top = (int) playerY;
+        int best = GoalDistanceField.UNREACHABLE;
+        for (int y = top; y <= top + stepSize; y += stepSize) {
+            for (int x = left; x <= left + stepSize; x += stepSize) {
+                int cells = field.distanceAt(x, y);
+                if (cells != GoalDistanceField.UNREACHABLE && (best == GoalDistanceField.UNREACHABLE || cells < best)) {
+                    best = cells;
+                }
+            }
+        }
+        return best == GoalDistanceField.UNREACHABLE ? -1 : best * stepSize;
+    }
+
+    // -----------------------------------------------------------------------
+    // Movement
+    // -----------------------------------------------------------------------
+
+    /**
+     * Moves the player by (dx, dy) pixels, sliding along walls: each axis is
+     * swept on its own, x first, and stops flush against the first wall.
+     * Returns true if the player moved at all.
+     */
+    public boolean moveBy(double dx, double dy) {
+        double inset = hitboxInset();
+        collisionSweeps += (dx != 0 ? 1 : 0) + (dy != 0 ? 1 : 0);
+        double appliedDx = dx == 0 ? 0 : clearance.sweepX(playerX, playerY, playerSize, inset, dx);
+        if (Math.abs(appliedDx) < MIN_MOVE) {
+            appliedDx = 0;
+        }
+        playerX += appliedDx;
+
+        double appliedDy = dy == 0 ? 0 : clearance.sweepY(playerX, playerY, playerSize, inset, dy);
+        if (Math.abs(appliedDy) < MIN_MOVE) {
+            appliedDy = 0;
+        }
+        playerY += appliedDy;
+
+        lastMoveDx = appliedDx;
+        lastMoveDy = appliedDy;
+        return appliedDx != 0 || appliedDy != 0;
+    }
+
+    // -----------------------------------------------------------------------
+    // Spawn, exit and auto-solve start points
+    // -----------------------------------------------------------------------
+
+    /** Snaps (rawX, rawY) to the step grid, taking the nearest free cell up to 8 cells out. */
+    public int[] resolveAutoStart(double rawX, double rawY) {
+        int baseX = ((int) Math.round(rawX) / stepSize) * stepSize;
+        int baseY = ((int) Math.round(rawY) / stepSize) * stepSize;
+
+        NearestOpenCells table = nearestOpenCells();
+        int cell = table.nearest(baseX / stepSize, baseY / stepSize);
+        if (cell != NearestOpenCells.NONE) {
+            int x = (cell % table.cols()) * stepSize;
+            int y = (cell / table.cols()) * stepSize;
+            if (Math.max(Math.abs(x - baseX), Math.abs(y - baseY)) <= stepSize * 8) {
+                return new int[]{x, y};
+            }
+        }
+
+        return new int[]{(int) Math.round(rawX), (int) Math.round(rawY)};
+    }
+
+    private void setChallengerSpawnAndEnd() {
+        boolean hasSpawnOverride = CHALLENGER_SPAWN_X >= 0 && CHALLENGER_SPAWN_Y >= 0;
+        boolean hasEndOverride = CHALLENGER_END_X >= 0 && CHALLENGER_END_Y >= 0;
+        if (hasSpawnOverride && hasEndOverride) {
+            playerX = clampToBounds(CHALLENGER_SPAWN_X, width - playerSize);
+            playerY = clampToBounds(CHALLENGER_SPAWN_Y, height - playerSize);
+            endX = clampToBounds(CHALLENGER_END_X, width - playerSize);
+            endY = clampToBounds(CHALLENGER_END_Y, height - playerSize);
+            return;
+        }
+
+        MarkerDetector.Markers markers = MarkerDetector.findAllMarkerCenters(grid);
+        List<double[]> blueCenters = markers.blue();
+        List<double[]> redCenters = markers.red();
+        redCenters.sort(Comparator.comparingDouble(center -> center[1]));
+
+        if (hasSpawnOverride) {
+            playerX = clampToBounds(CHALLENGER_SPAWN_X, width - playerSize);
+            playerY = clampToBounds(CHALLENGER_SPAWN_Y, height - playerSize);
+        } else if (!blueCenters.isEmpty()) {
+            double[] blueCenter = blueCenters.get(0);
+            playerX = clampToBounds(blueCenter[0] - playerSize / 2, width - playerSize);
+            playerY = clampToBounds(blueCenter[1] - playerSize / 2, height - playerSize);
+        } else if (!redCenters.isEmpty()) {
+            // If only red markers exist, top red is spawn.
+            double[] topRed = redCenters.get(0);
+            playerX = clampToBounds(topRed[0] - playerSize / 2, width - playerSize);
+            playerY = clampToBounds(topRed[1] - playerSize / 2, height - playerSize);
+        } else {
+            playerX = 20;
+            playerY = 20;
+        }
+
+        if (hasEndOverride) {
+            endX = clampToBounds(CHALLENGER_END_X, width - playerSize);
+            endY = clampToBounds(CHALLENGER_END_Y, height - playerSize);
+        } else {
+            // Challenger exit is always the nearest walkable point at the bottom-right area.
+            double[] bottomRightExit = findBottomRightWalkablePoint();
+            endX = bottomRightExit[0];
+            endY = bottomRightExit[1];
+        }
+
+        double[] correctedSpawn = findNearestWalkablePoint(playerX, playerY);
+        playerX = correctedSpawn[0];
+        playerY = correctedSpawn[1];
+    }
+
+    private double[] findBottomRightWalkablePoint() {
+        int maxX = (int) (width - playerSize - 1);
+        int maxY = (int) (height - playerSize - 1);
+        int snappedX = (maxX / stepSize) * stepSize;
+        int snappedY = (maxY / stepSize) * stepSize;
+        return findNearestWalkablePoint(snappedX, snappedY);
+    }
+
+    /**
+     * Nearest step-grid position (in square rings) where the player fits,
+     * read from a table built once per level. Falls back to the snapped
+     * position itself when the level has no free cell at all.
+     */
+    public double[] findNearestWalkablePoint(double rawX, double rawY) {
+        int baseX = ((int) Math.round(rawX) / stepSize) * stepSize;
+        int baseY = ((int) Math.round(rawY) / stepSize) * stepSize;
+
+        NearestOpenCells table = nearestOpenCells();
+        int cell = table.nearest(baseX / stepSize, baseY / stepSize);
+        if (cell == NearestOpenCells.NONE) {
+            return new double[]{Math.max(0, baseX), Math.max(0, baseY)};
+        }
+        return new double[]{(cell % table.cols()) * stepSize, (cell / table.cols()) * stepSize};
+    }
+
+    /** One multi-source BFS over the step grid the first time a nearest free cell is needed. */
+    private NearestOpenCells nearestOpenCells() {
+        NearestOpenCells table = nearestOpen;
+        if (table != null) {
+            return table;
+        }
+        synchronized (this) {
+            if (nearestOpen == null) {
+                int cols = (width + stepSize - 1) / stepSize;
+                int rows = (height + stepSize - 1) / stepSize;
+                long[] openCells = new long[(cols * rows + 63) >>> 6];
+                for (int cell = 0; cell < cols * rows; cell++) {
+                    if (canMoveTo((cell % cols) * stepSize, (cell / cols) * stepSize)) {
+                        openCells[cell >>> 6] |= 1L << cell;
+                    }
+                }
+                nearestOpen = new NearestOpenCells(openCells, cols, rows);
+            }
+            return nearestOpen;
+        }
+    }
+
+    private double clampToBounds(double value, double max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    public boolean isAtEnd() {
+        double playerCenterX = playerX + (playerSize / 2.0);
+        double playerCenterY = playerY + (playerSize / 2.0);
+        double endCenterX = endX + (playerSize / 2.0);
+        double endCenterY = endY + (playerSize / 2.0);
+        double distance = Math.hypot(playerCenterX - endCenterX, playerCenterY - endCenterY);
+        return distance <= Math.max(6, playerSize * 0.7);
+    }
+
+    // -----------------------------------------------------------------------
+    // Collision
+    // -----------------------------------------------------------------------
+
+    public boolean canMoveTo(double x, double y) {
+        return clearance.canPlace(x, y, playerSize, hitboxInset());
+    }
+
+    /** Challenger sprites are drawn smaller than their cell, so their hitbox is shrunk a little. */
+    private double hitboxInset() {
+        return challengerLevel ? CHALLENGER_HITBOX_INSET : 0.0;
+    }
+}
@@ -0,0 +1,552 @@
+package edu.farmingdale.mazegame.core;
+
+import edu.farmingdale.mazegame.events.SolveEvent;
+
+import java.util.*;
+
+/**
+ * Grid maze solver that operates on the maze's precomputed walkability grid.
+ * Returns an ordered list of {x, y} waypoints from start to end, one per cell,
+ * or with {@link #solveRuns} the same path as {@link PathRuns}.
+ *
+ * The search runs on cells of stepSize pixels using flat int arrays that are
+ * kept between solves, so a solve allocates nothing but the returned path.
+ * The algorithm is chosen per call or per solver via {@link SolverStrategy}.
+ *
+ * Solves are serialized on the solver. A solve running on a thread that gets
+ * interrupted gives up within a few thousand expansions and returns an empty path.
+ * The solver prints nothing: a blocked start or end and an unreachable goal
+ * also give an empty path, and every solve is reported as a {@link SolveEvent}.
+ */
+public class MazeSolver {
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    /** HPA* cluster side in cells (128 px at the default 4 px step). */
+    private static final int CLUSTER_CELLS = 32;
+
+    private final ClearanceMap clearance;
+    private final int stepSize;
+    private final int playerSize;
+    private final boolean challengerLevel;
+    private final int cols;
+    private final int rows;
+    private final PathSmoother smoother;
+    private volatile SolverStrategy strategy = SolverStrategy.BFS;
+    private volatile int lastExpandedNodes;
+    private volatile long lastSolveNanos;
+
+    // Scratch state, allocated on the first solve and reused afterwards.
+    private long[] openCells;
+    private int[] parent;
+    private int[] queue;
+    private int[] visitStamp;
+    private int[] closedStamp;
+    private int[] gScore;
+    private long[] heap;
+    private int heapSize;
+    private int expandedNodes;
+    private long solveStartNanos;
+    private volatile GoalDistanceField distanceField;
+    private volatile HierarchicalGraph hierarchy;
+    private int generation;
+
+    public MazeSolver(MazeGrid grid, int stepSize, int playerSize) {
+        this(new ClearanceMap(grid), stepSize, playerSize, grid.isChallengerLevel());
+    }
+
+    public MazeSolver(ClearanceMap clearance, int stepSize, int playerSize, boolean challengerLevel) {
+        this.clearance  = clearance;
+        this.stepSize   = stepSize;
+        this.playerSize = playerSize;
+        this.challengerLevel = challengerLevel;
+        this.cols = (clearance.getWidth() + stepSize - 1) / stepSize;
+        this.rows = (clearance.getHeight() + stepSize - 1) / stepSize;
+        this.smoother = new PathSmoother(clearance, playerSize, challengerLevel ? 2.0 : 0.0);
+    }
+
+    public SolverStrategy getStrategy() { return strategy; }
+    public void setStrategy(SolverStrategy strategy) { this.strategy = Objects.requireNonNull(strategy); }
+
+    /** Number of nodes taken off the open list (or BFS queue) by the last solve. */
+    public int getLastExpandedNodes() { return lastExpandedNodes; }
+
+    /** Wall time of the last solve in nanoseconds. */
+    public long getLastSolveNanos() { return lastSolveNanos; }
+
+    /**
+     * Solves from (startX, startY) to (endX, endY) with this solver's strategy.
+     * Returns the shortest path as a list of {x, y} int arrays,
+     * or empty if no path exists.
+     */
+    public List<int[]> solve(int startX, int startY, int endX, int endY) {
+        return solve(startX, startY, endX, endY, strategy);
+    }
+
+    /**
+     * Solves from (startX, startY) to (endX, endY) with the given strategy.
+     * Every strategy but {@link SolverStrategy#HIERARCHICAL} returns a shortest
+     * path; they differ in how much they expand.
+     */
+    public synchronized List<int[]> solve(int startX, int startY, int endX, int endY, SolverStrategy strategy) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        solveStartNanos = System.nanoTime();
+        List<int[]> path = search(startX, startY, endX, endY, strategy);
+        commitSolve(event, strategy, startX, startY, endX, endY, path.size());
+        return path;
+    }
+
+    private List<int[]> search(int startX, int startY, int endX, int endY, SolverStrategy strategy) {
+        startX = snap(startX);
+        startY = snap(startY);
+        endX   = snap(endX);
+        endY   = snap(endY);
+        lastExpandedNodes = 0;
+
+        if (!endpointsWalkable(startX, startY, endX, endY)) {
+            return Collections.emptyList();
+        }
+
+        if (strategy == SolverStrategy.DISTANCE_FIELD) {
+            boolean cached = distanceField != null && distanceField.getGoalX() == endX && distanceField.getGoalY() == endY;
+            GoalDistanceField field = distanceFieldTo(endX, endY);
+            lastExpandedNodes = cached ? 0 : field.getReachableCells();
+            return field.pathFrom(startX, startY);
+        }
+
+        if (strategy == SolverStrategy.HIERARCHICAL) {
+            boolean cached = hierarchy != null;
+            HierarchicalGraph graph = hierarchy();
+            if (graph == null) {
+                return Collections.emptyList();
+            }
+            int[] expanded = new int[1];
+            List<int[]> path = graph.findPath((startY / stepSize) * cols + startX / stepSize,
+                    (endY / stepSize) * cols + endX / stepSize, expanded);
+            lastExpandedNodes = expanded[0] + (cached ? 0 : graph.getNodeCount());
+            return path;
+        }
+
+        ensureScratch();
+        expandedNodes = 0;
+        int stamp = nextGeneration();
+        int start = (startY / stepSize) * cols + startX / stepSize;
+        int goal = (endY / stepSize) * cols + endX / stepSize;
+
+        boolean found = switch (strategy) {
+            case BFS -> breadthFirst(start, goal, stamp);
+            case A_STAR -> aStar(start, goal, stamp, false);
+            case JUMP_POINT -> aStar(start, goal, stamp, true);
+            case DISTANCE_FIELD, HIERARCHICAL -> throw new IllegalStateException("handled above");
+        };
+        lastExpandedNodes = expandedNodes;
+
+        if (!found) {
+            return Collections.emptyList();
+        }
+        return buildPath(goal);
+    }
+
+    /**
+     * Same as {@link #solve(int, int, int, int, SolverStrategy)}, with the path
+     * kept as straight runs. The distance field descends straight into runs;
+     * HPA*'s runs are refined as they are read, like its list; other
+     * strategies' paths are compressed after the search.
+     */
+    public synchronized PathRuns solveRuns(int startX, int startY, int endX, int endY, SolverStrategy strategy) {
+        if (strategy != SolverStrategy.DISTANCE_FIELD) {
+            List<int[]> path = solve(startX, startY, endX, endY, strategy);
+            return path instanceof HierarchicalGraph.RefinedPath refined ? refined.toRuns() : PathRuns.of(path);
+        }
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        solveStartNanos = System.nanoTime();
+        PathRuns path = descendRuns(startX, startY, endX, endY);
+        int cells = path.isEmpty() ? 0 : (int) Math.round(path.getLength() / stepSize) + 1;
+        commitSolve(event, strategy, startX, startY, endX, endY, cells);
+        return path;
+    }
+
+    private PathRuns descendRuns(int startX, int startY, int endX, int endY) {
+        startX = snap(startX);
+        startY = snap(startY);
+        endX   = snap(endX);
+        endY   = snap(endY);
+        lastExpandedNodes = 0;
+
+        if (!endpointsWalkable(startX, startY, endX, endY)) {
+            return PathRuns.EMPTY;
+        }
+        boolean cached = distanceField != null && distanceField.getGoalX() == endX && distanceField.getGoalY() == endY;
+        GoalDistanceField field = distanceFieldTo(endX, endY);
+        lastExpandedNodes = cached ? 0 : field.getReachableCells();
+        return field.runsFrom(startX, startY);
+    }
+
+    /**
+     * Any-angle version of a solved path: only the corners the player cannot
+     * cut, joined by straight segments the player's hitbox fits along. Same
+     * start and end; never longer. Refines a lazy (HPA*) path fully first.
+     */
+    public PathRuns smooth(PathRuns path) {
+        return smoother.smooth(path);
+    }
+
+    /**
+     * Returns the distance field rooted at (endX, endY), building it with one
+     * reverse BFS the first time a goal is asked for. The last field is cached.
+     */
+    public synchronized GoalDistanceField distanceFieldTo(int endX, int endY) {
+        endX = snap(endX);
+        endY = snap(endY);
+        GoalDistanceField field = distanceField;
+        if (field != null && field.getGoalX() == endX && field.getGoalY() == endY) {
+            return field;
+        }
+        ensureOpenCells();
+        field = new GoalDistanceField(openCells, cols, rows, stepSize, (endY / stepSize) * cols + endX / stepSize);
+        distanceField = field;
+        return field;
+    }
+
+    /** Caches a field built earlier (a compiled level) as if distanceFieldTo had built it. */
+    synchronized void installDistanceField(GoalDistanceField field) {
+        if (field.cols() != cols || field.rows() != rows || field.getStepSize() != stepSize) {
+            throw new IllegalArgumentException("Distance field is " + field.cols() + "x" + field.rows()
+                    + " cells of " + field.getStepSize() + " px, solver expects " + cols + "x" + rows
+                    + " of " + stepSize + " px");
+        }
+        distanceField = field;
+    }
+
+    /** The cached distance field, or null if none has been built yet. Never blocks. */
+    public GoalDistanceField peekDistanceField() {
+        return distanceField;
+    }
+
+    /**
+     * Builds the HPA* cluster graph if it is not cached yet, for example from
+     * a background thread right after a large level loads. Returns false if
+     * the build was interrupted.
+     */
+    public synchronized boolean prepareHierarchy() {
+        return hierarchy() != null;
+    }
+
+    private HierarchicalGraph hierarchy() {
+        HierarchicalGraph graph = hierarchy;
+        if (graph == null) {
+            ensureOpenCells();
+            graph = HierarchicalGraph.build(openCells, cols, rows, stepSize, CLUSTER_CELLS);
+            hierarchy = graph;
+        }
+        return graph;
+    }
+
+    // -----------------------------------------------------------------------
+    // Breadth-first search
+    // -----------------------------------------------------------------------
+
+    private boolean breadthFirst(int start, int goal, int stamp) {
+        // Every cell is enqueued at most once, so the queue never needs to wrap.
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visitStamp[start] = stamp;
+        parent[start] = -1;
+
+        while (head < tail) {
+            int cur = queue[head++];
+            if (++expandedNodes % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (cur == goal) {
+                return true;
+            }
+            int cx = cur % cols;
+            int cy = cur / cols;
+            // Same neighbour order as before: right, left, down, up.
+            if (cx + 1 < cols) tail = visit(cur, cur + 1, stamp, tail);
+            if (cx > 0)        tail = visit(cur, cur - 1, stamp, tail);
+            if (cy + 1 < rows) tail = visit(cur, cur + cols, stamp, tail);
+            if (cy > 0)        tail = visit(cur, cur - cols, stamp, tail);
+        }
+        return false;
+    }
+
+    private int visit(int from, int cell, int stamp, int tail) {
+        if (visitStamp[cell] == stamp || !isOpen(cell)) {
+            return tail;
+        }
+        visitStamp[cell] = stamp;
+        parent[cell] = from;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    // -----------------------------------------------------------------------
+    // A* and Jump Point Search
+    // -----------------------------------------------------------------------
+
+    /**
+     * A* with a Manhattan heuristic. With {@code jump} set, successors are
+     * jump points on the 4-connected grid: horizontal runs stop only where a
+     * wall ends beside them (a forced neighbour), and vertical runs stop
+     * where a horizontal run from them would find something.
+     */
+    private boolean aStar(int start, int goal, int stamp, boolean jump) {
+        int goalX = goal % cols;
+        int goalY = goal / cols;
+        heapSize = 0;
+        visitStamp[start] = stamp;
+        gScore[start] = 0;
+        parent[start] = -1;
+        push(manhattan(start, goalX, goalY), start);
+
+        while (heapSize > 0) {
+            long entry = pop();
+            int cur = (int) entry;
+            if (closedStamp[cur] == stamp) {
+                continue;
+            }
+            closedStamp[cur] = stamp;
+            if (++expandedNodes % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (cur == goal) {
+                return true;
+            }
+
+            int cx = cur % cols;
+            int cy = cur / cols;
+            if (!jump) {
+                if (cx + 1 < cols) relax(cur, cur + 1, 1, goalX, goalY, stamp);
+                if (cx > 0)        relax(cur, cur - 1, 1, goalX, goalY, stamp);
+                if (cy + 1 < rows) relax(cur, cur + cols, 1, goalX, goalY, stamp);
+                if (cy > 0)        relax(cur, cur - cols, 1, goalX, goalY, stamp);
+                continue;
+            }
+
+            int from = parent[cur];
+            int dirX = from < 0 ? 0 : Integer.signum(cx - from % cols);
+            int dirY = from < 0 ? 0 : Integer.signum(cy - from / cols);
+            if (dirY == 0 && dirX != 0) {
+                // Arrived horizontally: keep going, and turn only into forced openings.
+                relaxJump(cur, jumpHorizontal(cx, cy, dirX, goal), goalX, goalY, stamp);
+                if (isOpen(cx, cy - 1) && !isOpen(cx - dirX, cy - 1)) {
+                    relaxJump(cur, jumpVertical(cx, cy, -1, goal), goalX, goalY, stamp);
+                }
+                if (isOpen(cx, cy + 1) && !isOpen(cx - dirX, cy + 1)) {
+                    relaxJump(cur, jumpVertical(cx, cy, 1, goal), goalX, goalY, stamp);
+                }
+            } else {
+                // Start node or arrived vertically: every direction but backwards is natural.
+                relaxJump(cur, jumpHorizontal(cx, cy, 1, goal), goalX, goalY, stamp);
+                relaxJump(cur, jumpHorizontal(cx, cy, -1, goal), goalX, goalY, stamp);
+                if (dirY >= 0) relaxJump(cur, jumpVertical(cx, cy, 1, goal), goalX, goalY, stamp);
+                if (dirY <= 0) relaxJump(cur, jumpVertical(cx, cy, -1, goal), goalX, goalY, stamp);
+            }
+        }
+        return false;
+    }
+
+    private int jumpHorizontal(int x, int y, int dirX, int goal) {
+        while (true) {
+            x += dirX;
+            if (!isOpen(x, y)) {
+                return -1;
+            }
+            int cell = y * cols + x;
+            if (cell == goal) {
+                return cell;
+            }
+            if ((isOpen(x, y - 1) && !isOpen(x - dirX, y - 1))
+                    || (isOpen(x, y + 1) && !isOpen(x - dirX, y + 1))) {
+                return cell;
+            }
+        }
+    }
+
+    private int jumpVertical(int x, int y, int dirY, int goal) {
+        while (true) {
+            y += dirY;
+            if (!isOpen(x, y)) {
+                return -1;
+            }
+            int cell = y * cols + x;
+            if (cell == goal || jumpHorizontal(x, y, 1, goal) >= 0 || jumpHorizontal(x, y, -1, goal) >= 0) {
+                return cell;
+            }
+        }
+    }
+
+    private void relaxJump(int from, int cell, int goalX, int goalY, int stamp) {
+        if (cell >= 0) {
+            int distance = Math.abs(cell % cols - from % cols) + Math.abs(cell / cols - from / cols);
+            relax(from, cell, distance, goalX, goalY, stamp);
+        }
+    }
+
+    private void relax(int from, int cell, int cost, int goalX, int goalY, int stamp) {
+        if (closedStamp[cell] == stamp || !isOpen(cell)) {
+            return;
+        }
+        int g = gScore[from] + cost;
+        if (visitStamp[cell] == stamp && gScore[cell] <= g) {
+            return;
+        }
+        visitStamp[cell] = stamp;
+        gScore[cell] = g;
+        parent[cell] = from;
+        push(g + manhattan(cell, goalX, goalY), cell);
+    }
+
+    private int manhattan(int cell, int goalX, int goalY) {
+        return Math.abs(cell % cols - goalX) + Math.abs(cell / cols - goalY);
+    }
+
+    // Binary min-heap of (f << 32 | cell). Stale entries are skipped on pop
+    // instead of being decreased in place.
+
+    private void push(int f, int cell) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        long entry = ((long) f << 32) | cell;
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= entry) {
+                break;
+            }
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    // -----------------------------------------------------------------------
+    // Shared helpers
+    // -----------------------------------------------------------------------
+
+    /** Walks the parent chain, filling in the straight runs between jump points. */
+    private List<int[]> buildPath(int goal) {
+        int length = 1;
+        for (int cell = goal; parent[cell] != -1; cell = parent[cell]) {
+            int prev = parent[cell];
+            length += Math.abs(cell % cols - prev % cols) + Math.abs(cell / cols - prev / cols);
+        }
+
+        int[][] steps = new int[length][];
+        int i = length - 1;
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            int x = cell % cols;
+            int y = cell / cols;
+            int prev = parent[cell];
+            int run = prev == -1 ? 1 : Math.abs(x - prev % cols) + Math.abs(y - prev / cols);
+            int stepX = prev == -1 ? 0 : Integer.signum(prev % cols - x);
+            int stepY = prev == -1 ? 0 : Integer.signum(prev / cols - y);
+            for (int k = 0; k < run; k++, x += stepX, y += stepY) {
+                steps[i--] = new int[]{x * stepSize, y * stepSize};
+            }
+        }
+        return Arrays.asList(steps);
+    }
+
+    /** Classifies every step cell once; the distance field and HPA* need nothing else. */
+    private void ensureOpenCells() {
+        if (openCells != null) {
+            return;
+        }
+        int cellCount = cols * rows;
+        long[] cells = new long[(cellCount + 63) >>> 6];
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (isWalkable((cell % cols) * stepSize, (cell / cols) * stepSize)) {
+                cells[cell >>> 6] |= 1L << cell;
+            }
+        }
+        openCells = cells;
+    }
+
+    private void ensureScratch() {
+        if (parent != null) {
+            return;
+        }
+        ensureOpenCells();
+        int cellCount = cols * rows;
+        parent = new int[cellCount];
+        queue = new int[cellCount];
+        visitStamp = new int[cellCount];
+        closedStamp = new int[cellCount];
+        gScore = new int[cellCount];
+        heap = new long[256];
+        generation = 0;
+    }
+
+    private int nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    private boolean isOpen(int cell) {
+        return (openCells[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private boolean isOpen(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows && isOpen(cy * cols + cx);
+    }
+
+    private void commitSolve(SolveEvent event, SolverStrategy strategy,
+                             int startX, int startY, int endX, int endY, int pathCells) {
+        lastSolveNanos = System.nanoTime() - solveStartNanos;
+        event.end();
+        if (event.shouldCommit()) {
+            event.strategy = strategy.getLabel();
+            event.startX = startX;
+            event.startY = startY;
+            event.endX = endX;
+            event.endY = endY;
+            event.expandedNodes = lastExpandedNodes;
+            event.pathCells = pathCells;
+            event.commit();
+        }
+    }
+
+    private boolean endpointsWalkable(int startX, int startY, int endX, int endY) {
+        return isWalkable(startX, startY) && isWalkable(endX, endY);
+    }
+
+    private int snap(int v) { return (v / stepSize) * stepSize; }
+
+    private boolean isWalkable(int x, int y) {
+        double hitboxInset = challengerLevel ? 2.0 : 0.0;
+        return clearance.canPlace(x, y, playerSize, hitboxInset);
+    }
+}
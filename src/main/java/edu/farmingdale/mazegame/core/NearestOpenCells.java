@@ -0,0 +1,63 @@
+package edu.farmingdale.mazegame.core;
+
+import java.util.Arrays;
+
+/**
+ * For every step-grid cell, the nearest cell the player fits in. One
+ * multi-source BFS seeded with every open cell fills the table, stepping to
+ * all 8 neighbours so "nearest" means the smallest square ring, like the ring
+ * searches this replaces. Afterwards every lookup is one array read.
+ */
+final class NearestOpenCells {
+
+    /** Returned when the level has no open cell at all. */
+    static final int NONE = -1;
+
+    private final int cols;
+    private final int rows;
+    private final int[] nearest;
+
+    NearestOpenCells(long[] openCells, int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        int cellCount = cols * rows;
+        this.nearest = new int[cellCount];
+        Arrays.fill(nearest, NONE);
+
+        // Seeds go in scan order, so ties resolve toward the top-left.
+        int[] queue = new int[cellCount];
+        int tail = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if ((openCells[cell >>> 6] & (1L << cell)) != 0) {
+                nearest[cell] = cell;
+                queue[tail++] = cell;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int cur = queue[head];
+            int source = nearest[cur];
+            int cx = cur % cols;
+            int cy = cur / cols;
+            for (int ny = Math.max(0, cy - 1); ny <= Math.min(rows - 1, cy + 1); ny++) {
+                for (int nx = Math.max(0, cx - 1); nx <= Math.min(cols - 1, cx + 1); nx++) {
+                    int next = ny * cols + nx;
+                    if (nearest[next] == NONE) {
+                        nearest[next] = source;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    int cols() { return cols; }
+    int rows() { return rows; }
+
+    /** Nearest open cell to cell (cx, cy), clamped into the grid, or {@link #NONE}. */
+    int nearest(int cx, int cy) {
+        cx = Math.max(0, Math.min(cols - 1, cx));
+        cy = Math.max(0, Math.min(rows - 1, cy));
+        return nearest[cy * cols + cx];
+    }
+}
@@ -0,0 +1,228 @@
+package edu.farmingdale.mazegame.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A path stored as its straight runs: one packed {x, y} vertex where each
+ * run ends, in a single int array, with the run lengths computed once. A
+ * corridor of a hundred 4 px cells is two vertices instead of a hundred
+ * arrays, and a {@link Cursor} walks it without allocating.
+ *
+ * A path made by {@link #lazy} is refined piece by piece as it is read, so a
+ * cursor can start on it before the rest exists. Reading its vertex count or
+ * length refines it fully. Such a path must only be read from one thread.
+ */
+public final class PathRuns {
+
+    public static final PathRuns EMPTY = new PathRuns(new int[0], 0);
+
+    private int[] vertices;
+    private int vertexCount;
+    private double[] runLengths;
+    private double length;
+    // Both non-null while the rest of a lazy path is still to be refined.
+    private Builder pending;
+    private Refiner refiner;
+
+    private PathRuns(int[] vertices, int vertexCount) {
+        this.vertices = vertices;
+        this.vertexCount = vertexCount;
+        this.runLengths = new double[Math.max(0, vertexCount - 1)];
+        measureRuns(0);
+    }
+
+    private PathRuns(Refiner refiner) {
+        this.pending = new Builder();
+        this.refiner = refiner;
+        this.vertices = pending.vertices;
+        this.runLengths = new double[16];
+        refineUntilFinal(0);
+    }
+
+    /** Supplies a path one piece at a time; see {@link #lazy}. */
+    @FunctionalInterface
+    interface Refiner {
+        /** Adds the next piece of the path to {@code runs}; returns false once that was the last. */
+        boolean refineNext(Builder runs);
+    }
+
+    /** A path whose pieces come from {@code refiner} only once a reader gets to them. */
+    static PathRuns lazy(Refiner refiner) {
+        PathRuns path = new PathRuns(refiner);
+        return path.vertexCount == 0 ? EMPTY : path;
+    }
+
+    /** Compresses a list of {x, y} waypoints, such as {@link MazeSolver#solve}'s. */
+    public static PathRuns of(List<int[]> points) {
+        Builder builder = new Builder();
+        for (int[] p : points) {
+            builder.add(p[0], p[1]);
+        }
+        return builder.build();
+    }
+
+    public boolean isEmpty() { return vertexCount == 0; }
+
+    /** Start, end and every corner in between. */
+    public int getVertexCount() {
+        refineUntilFinal(Integer.MAX_VALUE - 1);
+        return vertexCount;
+    }
+
+    public int getX(int vertex) {
+        refineUntilFinal(vertex);
+        return vertices[2 * Objects.checkIndex(vertex, vertexCount)];
+    }
+
+    public int getY(int vertex) {
+        refineUntilFinal(vertex);
+        return vertices[2 * Objects.checkIndex(vertex, vertexCount) + 1];
+    }
+
+    /** Length of the run from {@code vertex} to the next one. */
+    public double getRunLength(int vertex) {
+        refineUntilFinal(vertex + 1);
+        return runLengths[Objects.checkIndex(vertex, vertexCount - 1)];
+    }
+
+    /** Total length in pixels. */
+    public double getLength() {
+        refineUntilFinal(Integer.MAX_VALUE - 1);
+        return length;
+    }
+
+    /**
+     * Refines a lazy path until {@code vertex} can no longer move: another
+     * vertex follows it, or the path is complete. The last vertex so far may
+     * still be extended by the next piece if that continues its run.
+     */
+    private void refineUntilFinal(int vertex) {
+        while (refiner != null && vertexCount <= vertex + 1) {
+            boolean more = refiner.refineNext(pending);
+            int previousCount = vertexCount;
+            vertices = pending.vertices;
+            vertexCount = pending.count;
+            if (runLengths.length < vertexCount - 1) {
+                runLengths = Arrays.copyOf(runLengths, Math.max(vertexCount - 1, 2 * runLengths.length));
+            }
+            measureRuns(Math.max(0, previousCount - 2));
+            if (!more) {
+                refiner = null;
+                pending = null;
+            }
+        }
+    }
+
+    /** Measures runs from {@code first} on (earlier ones cannot have changed) and keeps the total. */
+    private void measureRuns(int first) {
+        for (int i = first; i < vertexCount - 1; i++) {
+            double previous = runLengths[i];
+            runLengths[i] = Math.hypot(vertices[2 * i + 2] - vertices[2 * i], vertices[2 * i + 3] - vertices[2 * i + 1]);
+            length += runLengths[i] - previous;
+        }
+    }
+
+    /**
+     * A cursor at (fromX, fromY) that first heads to the start of the path,
+     * for a driver that is not exactly on it.
+     */
+    public Cursor cursor(double fromX, double fromY) {
+        return new Cursor(fromX, fromY);
+    }
+
+    /** Collects waypoints, folding each one that continues the current run into it. */
+    public static final class Builder {
+        private int[] vertices = new int[32];
+        private int count;
+
+        public Builder add(int x, int y) {
+            if (count > 0 && vertices[2 * count - 2] == x && vertices[2 * count - 1] == y) {
+                return this;
+            }
+            if (count >= 2) {
+                int runX = vertices[2 * count - 2] - vertices[2 * count - 4];
+                int runY = vertices[2 * count - 1] - vertices[2 * count - 3];
+                int nextX = x - vertices[2 * count - 2];
+                int nextY = y - vertices[2 * count - 1];
+                if ((long) runX * nextY == (long) runY * nextX && (long) runX * nextX + (long) runY * nextY > 0) {
+                    vertices[2 * count - 2] = x;
+                    vertices[2 * count - 1] = y;
+                    return this;
+                }
+            }
+            if (2 * count == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            }
+            vertices[2 * count] = x;
+            vertices[2 * count + 1] = y;
+            count++;
+            return this;
+        }
+
+        public PathRuns build() {
+            return count == 0 ? EMPTY : new PathRuns(Arrays.copyOf(vertices, 2 * count), count);
+        }
+    }
+
+    /**
+     * Position along the path, moved by distance. Each advance costs one step
+     * per run it finishes, so a long path costs no more per frame than a short one.
+     * On a lazy path, a piece is refined when the cursor reaches it.
+     */
+    public final class Cursor {
+        // Index of the vertex being headed to; vertexCount once the end is reached.
+        private int target;
+        private double fromX;
+        private double fromY;
+        private double legLength;
+        private double travelled;
+        private double x;
+        private double y;
+
+        private Cursor(double startX, double startY) {
+            x = fromX = startX;
+            y = fromY = startY;
+            if (vertexCount == 0) {
+                target = 0;
+                return;
+            }
+            legLength = Math.hypot(vertices[0] - startX, vertices[1] - startY);
+            if (legLength == 0) {
+                finishLeg();
+            }
+        }
+
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public boolean isDone() { return target >= vertexCount; }
+
+        /** Moves up to {@code distance} pixels along the path; returns what is left over at the end. */
+        public double advance(double distance) {
+            while (distance > 0 && target < vertexCount) {
+                double left = legLength - travelled;
+                if (distance < left) {
+                    travelled += distance;
+                    double t = travelled / legLength;
+                    x = fromX + (vertices[2 * target] - fromX) * t;
+                    y = fromY + (vertices[2 * target + 1] - fromY) * t;
+                    return 0;
+                }
+                distance -= left;
+                finishLeg();
+            }
+            return distance;
+        }
+
+        private void finishLeg() {
+            x = fromX = vertices[2 * target];
+            y = fromY = vertices[2 * target + 1];
+            travelled = 0;
+            refineUntilFinal(++target);
+            if (target < vertexCount) {
+                legLength = runLengths[target - 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package edu.farmingdale.mazegame.core;
+
+/**
+ * String pulling for cell paths: keeps only the corners the player cannot
+ * cut, so a staircase of 4 px steps becomes a few long straight segments.
+ * A segment is kept only if the player's whole hitbox can slide along it
+ * without touching a wall, so smoothed paths are as drivable as the original.
+ */
+final class PathSmoother {
+
+    private final ClearanceMap clearance;
+    private final double size;
+    private final double inset;
+
+    PathSmoother(ClearanceMap clearance, double size, double inset) {
+        this.clearance = clearance;
+        this.size = size;
+        this.inset = inset;
+    }
+
+    /**
+     * From each kept waypoint, the path is followed corner by corner while the
+     * corner is still in sight; the last visible pixel of the run where sight
+     * is lost (found by bisection) becomes the next waypoint.
+     */
+    PathRuns smooth(PathRuns path) {
+        int n = path.getVertexCount();
+        if (n <= 2) {
+            return path;
+        }
+
+        PathRuns.Builder smoothed = new PathRuns.Builder();
+        int ax = path.getX(0);
+        int ay = path.getY(0);
+        smoothed.add(ax, ay);
+        // The anchor lies on the run from vertex `run` to `run + 1`. The rest of
+        // that run is part of the path, so it is always in sight.
+        int run = 0;
+        while (run < n - 1) {
+            int reach = run + 1;
+            int rx = path.getX(reach);
+            int ry = path.getY(reach);
+            while (reach < n - 1) {
+                int cx = path.getX(reach + 1);
+                int cy = path.getY(reach + 1);
+                if (canSlide(ax, ay, cx, cy)) {
+                    reach++;
+                    rx = cx;
+                    ry = cy;
+                    continue;
+                }
+                // Only straight axis runs are bisected; their pixels are exact points on the path.
+                int dx = Integer.signum(cx - rx);
+                int dy = Integer.signum(cy - ry);
+                if (dx == 0 || dy == 0) {
+                    int lo = 0;
+                    int hi = Math.abs(cx - rx) + Math.abs(cy - ry);
+                    while (hi - lo > 1) {
+                        int mid = (lo + hi) >>> 1;
+                        if (canSlide(ax, ay, rx + dx * mid, ry + dy * mid)) {
+                            lo = mid;
+                        } else {
+                            hi = mid;
+                        }
+                    }
+                    rx += dx * lo;
+                    ry += dy * lo;
+                }
+                break;
+            }
+            smoothed.add(rx, ry);
+            ax = rx;
+            ay = ry;
+            run = reach;
+        }
+        return smoothed.build();
+    }
+
+    /**
+     * True if the hitbox stays clear moving in a straight line from (x0, y0) to
+     * (x1, y1). The line is walked in steps of at most one pixel per axis, and
+     * each step checks the box around both ends, which contains every position
+     * in between.
+     */
+    boolean canSlide(int x0, int y0, int x1, int y1) {
+        int steps = Math.max(Math.abs(x1 - x0), Math.abs(y1 - y0));
+        double ax = x0;
+        double ay = y0;
+        for (int i = 1; i <= steps; i++) {
+            double bx = x0 + (double) (x1 - x0) * i / steps;
+            double by = y0 + (double) (y1 - y0) * i / steps;
+            double left = Math.min(ax, bx) + inset;
+            double top = Math.min(ay, by) + inset;
+            double right = Math.max(ax, bx) + size - 1 - inset;
+            double bottom = Math.max(ay, by) + size - 1 - inset;
+            if (left < 0 || top < 0) {
+                return false;
+            }
+            int boxLeft = (int) left;
+            int boxTop = (int) top;
+            if (!clearance.isRectFree(boxLeft, boxTop, (int) right - boxLeft + 1, (int) bottom - boxTop + 1)) {
+                return false;
+            }
+            ax = bx;
+            ay = by;
+        }
+        return true;
+    }
+}
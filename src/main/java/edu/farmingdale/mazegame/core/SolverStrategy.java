@@ -0,0 +1,33 @@
+package edu.farmingdale.mazegame.core;
+
+/**
+ * Search algorithms available to {@link MazeSolver}.
+ */
+public enum SolverStrategy {
+
+    /** Uninformed breadth-first search; expands everything closer than the goal. */
+    BFS("BFS"),
+
+    /** A* with a Manhattan heuristic and a binary-heap open list. */
+    A_STAR("A*"),
+
+    /** A* over jump points; straight corridors are skipped instead of expanded. */
+    JUMP_POINT("Jump Point"),
+
+    /** Greedy descent over a cached reverse-BFS distance field rooted at the goal. */
+    DISTANCE_FIELD("Distance Field"),
+
+    /** A* over a cached cluster graph (HPA*); near-shortest, detail filled in lazily. */
+    HIERARCHICAL("HPA*");
+
+    private final String label;
+
+    SolverStrategy(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    @Override
+    public String toString() { return label; }
+}
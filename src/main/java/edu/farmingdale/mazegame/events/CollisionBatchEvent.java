@@ -0,0 +1,23 @@
+package edu.farmingdale.mazegame.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Player collision work on one level during one frame. */
+@Name("edu.farmingdale.mazegame.CollisionBatch")
+@Label("Collision Batch")
+@Category({"MazeGame", "Collision"})
+@Description("Swept collision queries a level ran for player moves in one frame")
+@StackTrace(false)
+public final class CollisionBatchEvent extends Event {
+
+    @Label("Level")
+    public String level;
+
+    @Label("Sweeps")
+    public int sweeps;
+}
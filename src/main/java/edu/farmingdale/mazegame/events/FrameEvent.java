@@ -0,0 +1,34 @@
+package edu.farmingdale.mazegame.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One game loop pulse: the fixed ticks it ran, then the views it drew.
+ * Like every event in this package it costs next to nothing unless a
+ * recording is running, e.g. {@code -XX:StartFlightRecording:filename=maze.jfr}.
+ */
+@Name("edu.farmingdale.mazegame.Frame")
+@Label("Game Frame")
+@Category({"MazeGame", "Frame"})
+@Description("A game loop pulse split into simulation and drawing")
+@StackTrace(false)
+public final class FrameEvent extends Event {
+
+    @Label("Ticks")
+    @Description("Fixed simulation ticks run in this pulse")
+    public int ticks;
+
+    @Label("Simulation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long simulationTime;
+
+    @Label("Draw Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long drawTime;
+}
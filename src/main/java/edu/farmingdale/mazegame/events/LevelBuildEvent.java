@@ -0,0 +1,27 @@
+package edu.farmingdale.mazegame.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Building a MazeLevel's collision and solver state from a classified grid. */
+@Name("edu.farmingdale.mazegame.LevelBuild")
+@Label("Level Build")
+@Category({"MazeGame", "Level"})
+@Description("Clearance map and solver setup for a newly constructed level")
+public final class LevelBuildEvent extends Event {
+
+    @Label("Level")
+    public String level;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Challenger")
+    public boolean challenger;
+}
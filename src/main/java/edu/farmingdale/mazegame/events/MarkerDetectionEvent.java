@@ -0,0 +1,29 @@
+package edu.farmingdale.mazegame.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One pass of challenger marker detection over a grid. */
+@Name("edu.farmingdale.mazegame.MarkerDetection")
+@Label("Marker Detection")
+@Category({"MazeGame", "Level"})
+@Description("Labeling of blue and red marker blobs on a challenger grid")
+public final class MarkerDetectionEvent extends Event {
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Blue Markers")
+    @Description("Blue blobs found, or -1 if blue was not searched")
+    public int blueMarkers;
+
+    @Label("Red Markers")
+    @Description("Red blobs found, or -1 if red was not searched")
+    public int redMarkers;
+}
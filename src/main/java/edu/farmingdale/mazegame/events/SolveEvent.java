@@ -0,0 +1,37 @@
+package edu.farmingdale.mazegame.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One MazeSolver search, from snapping the end points to returning the path. */
+@Name("edu.farmingdale.mazegame.Solve")
+@Label("Maze Solve")
+@Category({"MazeGame", "Solver"})
+@Description("A solve from a start cell to the exit, with how much it expanded")
+public final class SolveEvent extends Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Start X")
+    public int startX;
+
+    @Label("Start Y")
+    public int startY;
+
+    @Label("End X")
+    public int endX;
+
+    @Label("End Y")
+    public int endY;
+
+    @Label("Nodes Expanded")
+    public int expandedNodes;
+
+    @Label("Path Cells")
+    @Description("Cells on the path found, 0 if there is none")
+    public int pathCells;
+}
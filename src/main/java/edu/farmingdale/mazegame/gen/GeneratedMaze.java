@@ -0,0 +1,212 @@
+package edu.farmingdale.mazegame.gen;
+
+import edu.farmingdale.mazegame.core.MazeGrid;
+import edu.farmingdale.mazegame.core.MazeLevel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Cell graph of a generated maze plus the rules for drawing it: black walls,
+ * white corridors wide enough for the regular player, laid out on the solver's
+ * 4 px step lattice. Pixels are only ever produced one row at a time, so the
+ * PNG writer and grid builder never hold more than a stripe of the image.
+ */
+public class GeneratedMaze {
+
+    /** Corridor width in pixels; fits the 20 px player with room to steer. */
+    public static final int CORRIDOR = 24;
+    /** Wall thickness in pixels. */
+    public static final int WALL = 4;
+    public static final int PITCH = CORRIDOR + WALL;
+
+    static final int RIGHT = 0;
+    static final int LEFT = 1;
+    static final int DOWN = 2;
+    static final int UP = 3;
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+    private static final int STRIPE_ROWS = 64;
+
+    private final int cellsX;
+    private final int cellsY;
+    private final MazeAlgorithm algorithm;
+    private final long seed;
+    private final long[] eastOpen;
+    private final long[] southOpen;
+
+    GeneratedMaze(int cellsX, int cellsY, MazeAlgorithm algorithm, long seed) {
+        this.cellsX = cellsX;
+        this.cellsY = cellsY;
+        this.algorithm = algorithm;
+        this.seed = seed;
+        int words = (int) (((long) cellsX * cellsY + 63) >>> 6);
+        this.eastOpen = new long[words];
+        this.southOpen = new long[words];
+    }
+
+    /** Number of cells along a side that fit in an image {@code pixels} wide. */
+    public static int cellsFor(int pixels) {
+        return Math.max(1, (pixels - WALL) / PITCH);
+    }
+
+    public int getCellsX() { return cellsX; }
+    public int getCellsY() { return cellsY; }
+    public MazeAlgorithm getAlgorithm() { return algorithm; }
+    public long getSeed() { return seed; }
+    public int getWidth() { return cellsX * PITCH + WALL; }
+    public int getHeight() { return cellsY * PITCH + WALL; }
+
+    /** Spawn is the top-left corner of the top-left cell. */
+    public int getSpawnX() { return WALL; }
+    public int getSpawnY() { return WALL; }
+
+    /** Exit is the top-left corner of the bottom-right cell. */
+    public int getEndX() { return WALL + (cellsX - 1) * PITCH; }
+    public int getEndY() { return WALL + (cellsY - 1) * PITCH; }
+
+    // -----------------------------------------------------------------------
+    // Cell graph (used by the generator)
+    // -----------------------------------------------------------------------
+
+    /** Neighbouring cell in direction dir, or -1 past the edge. */
+    int neighbour(int cell, int dir) {
+        int cx = cell % cellsX;
+        int cy = cell / cellsX;
+        return switch (dir) {
+            case RIGHT -> cx + 1 < cellsX ? cell + 1 : -1;
+            case LEFT -> cx > 0 ? cell - 1 : -1;
+            case DOWN -> cy + 1 < cellsY ? cell + cellsX : -1;
+            default -> cy > 0 ? cell - cellsX : -1;
+        };
+    }
+
+    /** Removes the wall between two adjacent cells. */
+    void connect(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        // In a one-column maze the cell below is also one index on.
+        long[] bits = high - low == 1 && cellsX > 1 ? eastOpen : southOpen;
+        bits[low >>> 6] |= 1L << low;
+    }
+
+    private boolean isEastOpen(int cx, int cy) {
+        int cell = cy * cellsX + cx;
+        return (eastOpen[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private boolean isSouthOpen(int cx, int cy) {
+        int cell = cy * cellsX + cx;
+        return (southOpen[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // -----------------------------------------------------------------------
+    // Row rendering
+    // -----------------------------------------------------------------------
+
+    /** Fills {@code open} (at least getWidth() long) with image row y; true is corridor. */
+    public void renderRow(int y, boolean[] open) {
+        int width = getWidth();
+        if (y < WALL) {
+            Arrays.fill(open, 0, width, false);
+            return;
+        }
+        // The last cell row and column have no south/east openings, which
+        // draws the bottom and right borders.
+        int cy = (y - WALL) / PITCH;
+        boolean inBand = (y - WALL) % PITCH >= CORRIDOR;
+
+        for (int x = 0; x < width; x++) {
+            if (x < WALL) {
+                open[x] = false;
+                continue;
+            }
+            int cx = (x - WALL) / PITCH;
+            boolean inEastWall = (x - WALL) % PITCH >= CORRIDOR;
+            if (inBand) {
+                // Corners where walls cross stay solid.
+                open[x] = !inEastWall && isSouthOpen(cx, cy);
+            } else {
+                open[x] = !inEastWall || isEastOpen(cx, cy);
+            }
+        }
+    }
+
+    /** Renders {@code rows} image rows starting at {@code firstRow} as ARGB into {@code argb}. */
+    public void renderArgbRows(int[] argb, int firstRow, int rows, boolean[] scratch) {
+        int width = getWidth();
+        for (int row = 0; row < rows; row++) {
+            renderRow(firstRow + row, scratch);
+            int base = row * width;
+            for (int x = 0; x < width; x++) {
+                argb[base + x] = scratch[x] ? WHITE : BLACK;
+            }
+        }
+    }
+
+    /** Classifies the maze straight into a grid, one stripe at a time. */
+    public MazeGrid toGrid() {
+        int width = getWidth();
+        int height = getHeight();
+        MazeGrid grid = new MazeGrid(width, height, false);
+        int[] stripe = new int[width * Math.min(STRIPE_ROWS, height)];
+        boolean[] scratch = new boolean[width];
+        for (int y = 0; y < height; y += STRIPE_ROWS) {
+            int rows = Math.min(STRIPE_ROWS, height - y);
+            renderArgbRows(stripe, y, rows, scratch);
+            grid.classifyRows(stripe, y, rows);
+        }
+        return grid;
+    }
+
+    /** A playable level with spawn top-left and exit bottom-right, without a PNG round trip. */
+    public MazeLevel toLevel(String name) {
+        return new MazeLevel(name, toGrid(), getSpawnX(), getSpawnY(), getEndX(), getEndY());
+    }
+
+    // -----------------------------------------------------------------------
+    // Files
+    // -----------------------------------------------------------------------
+
+    /**
+     * Writes the maze as a 1-bit grayscale PNG, streamed row by row, plus a
+     * sidecar {@code <name>.properties} holding spawn, exit and generator settings.
+     */
+    public void write(Path png) throws IOException {
+        int width = getWidth();
+        boolean[] scratch = new boolean[width];
+        byte[] packed = new byte[(width + 7) >>> 3];
+        try (OutputStream out = Files.newOutputStream(png);
+             PngStripeWriter writer = new PngStripeWriter(out, width, getHeight())) {
+            for (int y = 0; y < getHeight(); y++) {
+                renderRow(y, scratch);
+                Arrays.fill(packed, (byte) 0);
+                for (int x = 0; x < width; x++) {
+                    if (scratch[x]) {
+                        packed[x >>> 3] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                writer.writeRow(packed);
+            }
+        }
+        writeSidecar(png);
+    }
+
+    private void writeSidecar(Path png) throws IOException {
+        Properties config = new Properties();
+        config.setProperty("spawnX", Integer.toString(getSpawnX()));
+        config.setProperty("spawnY", Integer.toString(getSpawnY()));
+        config.setProperty("endX", Integer.toString(getEndX()));
+        config.setProperty("endY", Integer.toString(getEndY()));
+        config.setProperty("algorithm", algorithm.name());
+        config.setProperty("seed", Long.toString(seed));
+        try (OutputStream out = Files.newOutputStream(MazeLevel.sidecarFor(png))) {
+            config.store(out, "Generated maze " + getWidth() + "x" + getHeight());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package edu.farmingdale.mazegame.gen;
+
+/** Spanning-tree algorithms the generator can carve a perfect maze with. */
+public enum MazeAlgorithm {
+    /** Depth-first search: long, winding corridors with few branches. */
+    BACKTRACKER("Recursive Backtracker"),
+    /** Randomized Kruskal: many short dead ends, uniform-looking texture. */
+    KRUSKAL("Kruskal"),
+    /** Loop-erased random walks: a uniformly random spanning tree. */
+    WILSON("Wilson");
+
+    private final String label;
+
+    MazeAlgorithm(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
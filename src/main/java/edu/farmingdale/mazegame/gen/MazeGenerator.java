@@ -0,0 +1,173 @@
+package edu.farmingdale.mazegame.gen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded perfect-maze generator. Only the cell graph is built here (two bits
+ * per cell), which stays small even for 16k pixel images; pixels are produced
+ * row by row afterwards by {@link GeneratedMaze}.
+ */
+public final class MazeGenerator {
+
+    private MazeGenerator() {
+    }
+
+    /** Generates the largest maze whose image fits in {@code pixels} x {@code pixels}. */
+    public static GeneratedMaze generate(MazeAlgorithm algorithm, int pixels, long seed) {
+        int cells = GeneratedMaze.cellsFor(pixels);
+        return generate(algorithm, cells, cells, seed);
+    }
+
+    public static GeneratedMaze generate(MazeAlgorithm algorithm, int cellsX, int cellsY, long seed) {
+        if (cellsX < 1 || cellsY < 1) {
+            throw new IllegalArgumentException("Maze needs at least one cell, got " + cellsX + "x" + cellsY);
+        }
+        GeneratedMaze maze = new GeneratedMaze(cellsX, cellsY, algorithm, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        switch (algorithm) {
+            case BACKTRACKER -> backtracker(maze, random);
+            case KRUSKAL -> kruskal(maze, random);
+            case WILSON -> wilson(maze, random);
+        }
+        return maze;
+    }
+
+    // -----------------------------------------------------------------------
+    // Recursive backtracker (iterative, explicit stack)
+    // -----------------------------------------------------------------------
+
+    private static void backtracker(GeneratedMaze maze, SplittableRandom random) {
+        int cellsX = maze.getCellsX();
+        int cellCount = cellsX * maze.getCellsY();
+        long[] visited = new long[(cellCount + 63) >>> 6];
+        int[] stack = new int[cellCount];
+        int[] options = new int[4];
+        int top = 0;
+
+        int first = random.nextInt(cellCount);
+        stack[top++] = first;
+        set(visited, first);
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int count = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = maze.neighbour(cell, dir);
+                if (next >= 0 && !get(visited, next)) {
+                    options[count++] = next;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = options[random.nextInt(count)];
+            maze.connect(cell, next);
+            set(visited, next);
+            stack[top++] = next;
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // Kruskal (shuffled wall list + union-find)
+    // -----------------------------------------------------------------------
+
+    private static void kruskal(GeneratedMaze maze, SplittableRandom random) {
+        int cellsX = maze.getCellsX();
+        int cellsY = maze.getCellsY();
+        int cellCount = cellsX * cellsY;
+
+        // Wall w < cellCount is the east wall of cell w, otherwise the south wall of w - cellCount.
+        int[] walls = new int[2 * cellCount];
+        int wallCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cell % cellsX + 1 < cellsX) {
+                walls[wallCount++] = cell;
+            }
+            if (cell / cellsX + 1 < cellsY) {
+                walls[wallCount++] = cellCount + cell;
+            }
+        }
+        for (int i = wallCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = walls[i];
+            walls[i] = walls[j];
+            walls[j] = tmp;
+        }
+
+        int[] parent = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            parent[i] = i;
+        }
+        int joined = 0;
+        for (int i = 0; i < wallCount && joined < cellCount - 1; i++) {
+            int wall = walls[i];
+            int a = wall < cellCount ? wall : wall - cellCount;
+            int b = wall < cellCount ? a + 1 : a + cellsX;
+            int rootA = find(parent, a);
+            int rootB = find(parent, b);
+            if (rootA != rootB) {
+                parent[rootA] = rootB;
+                maze.connect(a, b);
+                joined++;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]];
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    // -----------------------------------------------------------------------
+    // Wilson (loop-erased random walks into the tree)
+    // -----------------------------------------------------------------------
+
+    private static void wilson(GeneratedMaze maze, SplittableRandom random) {
+        int cellCount = maze.getCellsX() * maze.getCellsY();
+        long[] inTree = new long[(cellCount + 63) >>> 6];
+        // Last direction taken out of each cell on the current walk; revisits
+        // overwrite it, which erases loops without storing the walk itself.
+        byte[] exitDir = new byte[cellCount];
+
+        set(inTree, random.nextInt(cellCount));
+        int remaining = cellCount - 1;
+        int scan = 0;
+        while (remaining > 0) {
+            while (get(inTree, scan)) {
+                scan++;
+            }
+
+            int cell = scan;
+            while (!get(inTree, cell)) {
+                int dir;
+                int next;
+                do {
+                    dir = random.nextInt(4);
+                    next = maze.neighbour(cell, dir);
+                } while (next < 0);
+                exitDir[cell] = (byte) dir;
+                cell = next;
+            }
+
+            cell = scan;
+            while (!get(inTree, cell)) {
+                int next = maze.neighbour(cell, exitDir[cell]);
+                maze.connect(cell, next);
+                set(inTree, cell);
+                remaining--;
+                cell = next;
+            }
+        }
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.farmingdale.mazegame.gen;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal streaming PNG encoder for 1-bit grayscale images. Rows are deflated
+ * as they arrive and flushed in fixed-size IDAT chunks, so memory use does not
+ * grow with the image (ImageIO would need the whole image as one raster).
+ */
+class PngStripeWriter implements AutoCloseable {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+    private final int rowBytes;
+    private final int height;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final DeflaterOutputStream idat;
+    private int rowsWritten;
+
+    PngStripeWriter(OutputStream target, int width, int height) throws IOException {
+        this.out = new DataOutputStream(target);
+        this.rowBytes = (width + 7) >>> 3;
+        this.height = height;
+
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // grayscale
+        header[10] = 0; // deflate
+        header[11] = 0; // adaptive filtering
+        header[12] = 0; // no interlace
+        writeChunk("IHDR", header, header.length);
+
+        idat = new DeflaterOutputStream(new IdatStream(), deflater, CHUNK_SIZE);
+    }
+
+    /** Appends one row of packed pixels, most significant bit first, 1 = white. */
+    void writeRow(byte[] packed) throws IOException {
+        if (rowsWritten >= height) {
+            throw new IOException("PNG already has all " + height + " rows");
+        }
+        idat.write(0); // filter type None; the rows are long runs and deflate well as-is
+        idat.write(packed, 0, rowBytes);
+        rowsWritten++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rowsWritten != height) {
+            throw new IOException("PNG has " + rowsWritten + " of " + height + " rows");
+        }
+        idat.close();
+        deflater.end();
+        writeChunk("IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) (value >>> 24);
+        buf[offset + 1] = (byte) (value >>> 16);
+        buf[offset + 2] = (byte) (value >>> 8);
+        buf[offset + 3] = (byte) value;
+    }
+
+    /** Buffers compressed bytes and emits them as IDAT chunks. */
+    private class IdatStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[size++] = (byte) b;
+            if (size == buffer.length) {
+                flushChunk();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - size);
+                System.arraycopy(b, off, buffer, size, n);
+                size += n;
+                off += n;
+                len -= n;
+                if (size == buffer.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+
+        private void flushChunk() throws IOException {
+            if (size > 0) {
+                writeChunk("IDAT", buffer, size);
+                size = 0;
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 module edu.farmingdale.mazegame {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.desktop;
+    requires jdk.jfr;
 
 
     opens edu.farmingdale.mazegame to javafx.fxml;
     exports edu.farmingdale.mazegame;
+    exports edu.farmingdale.mazegame.core;
+    exports edu.farmingdale.mazegame.events;
+    exports edu.farmingdale.mazegame.gen;
 }
@@ -0,0 +1,124 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The clearance map answers rectangle queries exactly like checking every
+ * pixel, and sweeps stop where a fine step-by-step search stops.
+ */
+class ClearanceMapTest {
+
+    @Test
+    void rectFreeMatchesBruteForceOnRandomGrid() {
+        SplittableRandom random = new SplittableRandom(42);
+        int width = 97;
+        int height = 83;
+        int[] argb = new int[width * height];
+        for (int i = 0; i < argb.length; i++) {
+            // Mostly floor with scattered walls, so both large and tiny free areas occur.
+            argb[i] = random.nextInt(100) < 4 ? 0xFF000000 : 0xFFFFFFFF;
+        }
+        assertMatchesBruteForce(MazeGrid.fromArgb(width, height, argb, false), random, 20_000);
+    }
+
+    @Test
+    void rectFreeMatchesBruteForceOnChallenger() throws IOException {
+        MazeLevel level = MazeLevel.load("challenger.png");
+        assertMatchesBruteForce(level.getGrid(), new SplittableRandom(7), 5_000);
+    }
+
+    @Test
+    void sweepsMatchFineSearchOnRandomGrid() {
+        SplittableRandom random = new SplittableRandom(18);
+        int width = 120;
+        int height = 90;
+        int[] argb = new int[width * height];
+        for (int i = 0; i < argb.length; i++) {
+            argb[i] = random.nextInt(100) < 2 ? 0xFF000000 : 0xFFFFFFFF;
+        }
+        ClearanceMap clearance = new ClearanceMap(MazeGrid.fromArgb(width, height, argb, false));
+        assertSweepsMatchFineSearch(clearance, random, 8, 0.0);
+        assertSweepsMatchFineSearch(clearance, random, 5, 1.5);
+    }
+
+    @Test
+    void sweepsMatchFineSearchOnChallenger() throws IOException {
+        MazeLevel level = MazeLevel.load("challenger.png");
+        assertSweepsMatchFineSearch(level.getClearance(), new SplittableRandom(19), 12, 2.0);
+    }
+
+    /**
+     * From random free positions, including fractional ones and ones touching
+     * a wall, each sweep must end within one search step of where stepping
+     * 0.001 px at a time first hits a wall, and the end must itself be free.
+     */
+    private static void assertSweepsMatchFineSearch(ClearanceMap clearance, SplittableRandom random,
+                                                    double size, double inset) {
+        double fine = 0.001;
+        for (int checked = 0; checked < 400; ) {
+            double x = random.nextDouble(-2, clearance.getWidth() - size + 2);
+            double y = random.nextDouble(-2, clearance.getHeight() - size + 2);
+            if (random.nextBoolean()) {
+                x = Math.floor(x);
+                y = Math.floor(y);
+            }
+            if (!clearance.canPlace(x, y, size, inset)) {
+                continue;
+            }
+            checked++;
+            boolean horizontal = random.nextBoolean();
+            double delta = random.nextDouble(-30, 30);
+            double swept = horizontal
+                    ? clearance.sweepX(x, y, size, inset, delta)
+                    : clearance.sweepY(x, y, size, inset, delta);
+
+            double direction = Math.signum(delta);
+            double reach = 0;
+            while (reach + fine <= Math.abs(delta)) {
+                double nx = horizontal ? x + direction * (reach + fine) : x;
+                double ny = horizontal ? y : y + direction * (reach + fine);
+                if (!clearance.canPlace(nx, ny, size, inset)) {
+                    break;
+                }
+                reach += fine;
+            }
+            String query = (horizontal ? "sweepX" : "sweepY") + " from " + x + "," + y + " by " + delta;
+            assertTrue(Math.abs(swept) <= Math.abs(delta) && swept * delta >= 0, query + " returned " + swept);
+            assertEquals(reach, Math.abs(swept), fine * 1.01, query);
+            assertTrue(clearance.canPlace(horizontal ? x + swept : x, horizontal ? y : y + swept, size, inset),
+                    query + " ended inside a wall");
+        }
+    }
+
+    private static void assertMatchesBruteForce(MazeGrid grid, SplittableRandom random, int queries) {
+        ClearanceMap clearance = new ClearanceMap(grid);
+        for (int i = 0; i < queries; i++) {
+            // Some queries reach past the edges, which must count as blocked.
+            int left = random.nextInt(-3, grid.getWidth());
+            int top = random.nextInt(-3, grid.getHeight());
+            int rectWidth = random.nextInt(0, 24);
+            int rectHeight = random.nextInt(0, 24);
+            assertEquals(bruteForce(grid, left, top, rectWidth, rectHeight),
+                    clearance.isRectFree(left, top, rectWidth, rectHeight),
+                    "rect " + left + "," + top + " " + rectWidth + "x" + rectHeight);
+        }
+    }
+
+    private static boolean bruteForce(MazeGrid grid, int left, int top, int rectWidth, int rectHeight) {
+        // An empty rectangle covers no pixel, so it is free wherever it is.
+        for (int y = top; y < top + rectHeight; y++) {
+            for (int x = left; x < left + rectWidth; x++) {
+                if (!grid.isWalkable(x, y)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
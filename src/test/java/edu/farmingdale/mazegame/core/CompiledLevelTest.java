@@ -0,0 +1,107 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** A compiled level reads back as the level it was written from, and bad files are refused. */
+class CompiledLevelTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsRegularLevelWithDistanceField() throws IOException {
+        MazeLevel level = MazeLevel.load("maze2.png");
+        Path file = dir.resolve(CompiledLevel.fileNameFor("maze2.png"));
+        long checksum = checksumOf("maze2.png");
+        CompiledLevel.write(level, checksum, file, true);
+
+        MazeLevel read = CompiledLevel.read(file, checksum);
+        assertSameLevel(level, read);
+        GoalDistanceField expected = level.getSolver().peekDistanceField();
+        GoalDistanceField actual = read.getSolver().peekDistanceField();
+        assertNotNull(actual);
+        assertEquals(expected.goalCell(), actual.goalCell());
+        assertEquals(expected.getReachableCells(), actual.getReachableCells());
+        assertArrayEquals(expected.distances(), actual.distances());
+    }
+
+    @Test
+    void roundTripsChallengerMarkersWithoutDistanceField() throws IOException {
+        MazeLevel level = MazeLevel.load("challenger.png");
+        Path file = dir.resolve("challenger.mzl");
+        long checksum = checksumOf("challenger.png");
+        CompiledLevel.write(level, checksum, file, false);
+
+        MazeLevel read = CompiledLevel.read(file, checksum);
+        assertSameLevel(level, read);
+        assertArrayEquals(level.getGrid().blueMarkerBits(), read.getGrid().blueMarkerBits());
+        assertArrayEquals(level.getGrid().redMarkerBits(), read.getGrid().redMarkerBits());
+        assertNull(read.getSolver().peekDistanceField());
+    }
+
+    @Test
+    void refusesFileCompiledFromAnotherImage() throws IOException {
+        Path file = dir.resolve("maze.mzl");
+        long checksum = checksumOf("maze.png");
+        CompiledLevel.write(MazeLevel.load("maze.png"), checksum, file, false);
+        assertThrows(IOException.class, () -> CompiledLevel.read(file, checksum + 1));
+    }
+
+    @Test
+    void refusesFileCompiledUnderOtherRules() throws IOException {
+        Path file = dir.resolve("maze.mzl");
+        long checksum = checksumOf("maze.png");
+        CompiledLevel.write(MazeLevel.load("maze.png"), checksum, file, false);
+        // The rules version follows magic, format version and image checksum.
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(16, MazeLevel.RULES_VERSION + 1);
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CompiledLevel.read(file, checksum));
+    }
+
+    @Test
+    void refusesTruncatedFile() throws IOException {
+        Path file = dir.resolve("maze.mzl");
+        long checksum = checksumOf("maze.png");
+        CompiledLevel.write(MazeLevel.load("maze.png"), checksum, file, true);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int length : new int[]{0, 10, 60, bytes.length / 2, bytes.length - 1}) {
+            Path cut = dir.resolve("cut-" + length + ".mzl");
+            Files.write(cut, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> CompiledLevel.read(cut, checksum), "cut to " + length + " bytes");
+        }
+    }
+
+    private static void assertSameLevel(MazeLevel expected, MazeLevel actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.isChallengerLevel(), actual.isChallengerLevel());
+        assertEquals(expected.getPlayerX(), actual.getPlayerX());
+        assertEquals(expected.getPlayerY(), actual.getPlayerY());
+        assertEquals(expected.getEndX(), actual.getEndX());
+        assertEquals(expected.getEndY(), actual.getEndY());
+        assertArrayEquals(expected.getGrid().walkableBits(), actual.getGrid().walkableBits());
+    }
+
+    private static long checksumOf(String resource) throws IOException {
+        try (InputStream in = CompiledLevelTest.class.getResourceAsStream("/" + resource)) {
+            return CompiledLevel.checksum(in);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** A crowd is reproducible from its seed, however it is stepped, and every agent reaches the exit. */
+class CrowdTest {
+
+    /** Over the parallel threshold, so agents are stepped in concurrent chunks. */
+    private static final int LARGE = 6000;
+    private static final double DT = 1.0 / 120;
+
+    @Test
+    void sameSeedGivesSameCrowd() throws IOException {
+        MazeLevel level = MazeLevel.load("maze2.png");
+        Crowd a = new Crowd(level, LARGE, 140, 7);
+        Crowd b = new Crowd(level, LARGE, 140, 7);
+        double[] spawned = positions(a);
+        assertArrayEquals(spawned, positions(b));
+        assertFalse(Arrays.equals(spawned, positions(new Crowd(level, LARGE, 140, 8))),
+                "another seed spawned the same crowd");
+        for (int tick = 0; tick < 600; tick++) {
+            a.step(DT);
+            b.step(DT);
+            assertEquals(a.getArrivedCount(), b.getArrivedCount(), "tick " + tick);
+        }
+        assertArrayEquals(positions(a), positions(b));
+    }
+
+    @Test
+    void parallelStepsMatchSequentialOnes() throws IOException {
+        MazeLevel level = MazeLevel.load("maze3.png");
+        Crowd crowd = new Crowd(level, LARGE, 140, 11);
+        // Agents of a crowd below the threshold are stepped on one thread; the
+        // first agents of a large crowd with the same seed spawn identically.
+        Crowd small = new Crowd(level, 100, 140, 11);
+        for (int tick = 0; tick < 600; tick++) {
+            crowd.step(DT);
+            small.step(DT);
+        }
+        for (int agent = 0; agent < small.size(); agent++) {
+            assertEquals(small.getX(agent), crowd.getX(agent), "agent " + agent);
+            assertEquals(small.getY(agent), crowd.getY(agent), "agent " + agent);
+        }
+    }
+
+    @Test
+    void everyAgentArrivesAtTheExit() throws IOException {
+        for (String file : new String[]{"maze.png", "maze2.png", "maze3.png", "challenger.png"}) {
+            MazeLevel level = MazeLevel.load(file);
+            Crowd crowd = new Crowd(level, LARGE, level.getMoveSpeedPxPerSecond(), 3);
+            assertEquals(LARGE, crowd.size());
+            int step = level.getStepSize();
+            // An agent is never slower than 0.75 of the base speed, and no walk
+            // is longer than visiting every pixel of the level.
+            int maxTicks = (int) (level.getWidth() * level.getHeight()
+                    / (0.75 * level.getMoveSpeedPxPerSecond() * DT * step));
+            int ticks = 0;
+            while (!crowd.isFinished()) {
+                assertTrue(++ticks <= maxTicks, file + ": " + crowd.getArrivedCount() + " of " + LARGE + " arrived");
+                crowd.step(DT);
+            }
+            for (int agent = 0; agent < crowd.size(); agent++) {
+                assertTrue(crowd.hasArrived(agent));
+                assertEquals((int) level.getEndX() / step * step, crowd.getX(agent), file + " agent " + agent);
+                assertEquals((int) level.getEndY() / step * step, crowd.getY(agent), file + " agent " + agent);
+            }
+        }
+    }
+
+    private static double[] positions(Crowd crowd) {
+        double[] positions = new double[2 * crowd.size()];
+        for (int agent = 0; agent < crowd.size(); agent++) {
+            positions[2 * agent] = crowd.getX(agent);
+            positions[2 * agent + 1] = crowd.getY(agent);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,124 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Recordings play back tick for tick, and a cut-off file plays back a prefix of what was recorded. */
+class InputRecordingTest {
+
+    private static final InputRecording.Header HEADER =
+            new InputRecording.Header("maze.png", true, 99L, 120, 25.5, 265.0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryTick() throws IOException {
+        int[] keys = randomKeys(20_000, new SplittableRandom(5));
+        Path file = record(keys);
+
+        try (InputRecording.Reader reader = new InputRecording.Reader(file)) {
+            assertEquals(HEADER, reader.header());
+            for (int tick = 0; tick < keys.length; tick++) {
+                assertEquals(keys[tick], reader.nextTick(), "tick " + (tick + 1));
+            }
+            assertEquals(-1, reader.nextTick());
+            assertEquals(-1, reader.nextTick());
+        }
+    }
+
+    @Test
+    void emptyRecordingEndsAtOnce() throws IOException {
+        Path file = record(new int[0]);
+        try (InputRecording.Reader reader = new InputRecording.Reader(file)) {
+            assertEquals(-1, reader.nextTick());
+        }
+    }
+
+    @Test
+    void keysHeldToTheEndAreReplayed() throws IOException {
+        int[] keys = new int[500];
+        Arrays.fill(keys, 100, 500, InputRecording.RIGHT | InputRecording.UP);
+        assertArrayEquals(keys, replay(record(keys), keys.length + 1));
+    }
+
+    @Test
+    void truncatedRecordingReplaysAPrefix() throws IOException {
+        // An empty recording is the header, a one-byte tick count and the end marker.
+        int headerBytes = (int) Files.size(record(new int[0])) - 2;
+        int[] keys = randomKeys(2_000, new SplittableRandom(9));
+        byte[] bytes = Files.readAllBytes(record(keys));
+        Path cut = dir.resolve("cut" + InputRecording.EXTENSION);
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(cut, Arrays.copyOf(bytes, length));
+            int[] replayed;
+            try {
+                replayed = replay(cut, keys.length + 1);
+            } catch (IOException e) {
+                // Only a cut inside the header may be refused outright.
+                assertTrue(length < headerBytes, "cut to " + length + " bytes: " + e.getMessage());
+                continue;
+            }
+            assertTrue(replayed.length <= keys.length, "cut to " + length + " bytes replayed extra ticks");
+            assertArrayEquals(Arrays.copyOf(keys, replayed.length), replayed, "cut to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void directionNormalizesDiagonalsAndCancelsOpposites() {
+        double[] out = new double[2];
+        assertTrue(InputRecording.direction(InputRecording.LEFT, out));
+        assertArrayEquals(new double[]{-1, 0}, out);
+        assertTrue(InputRecording.direction(InputRecording.RIGHT | InputRecording.DOWN, out));
+        assertArrayEquals(new double[]{Math.sqrt(0.5), Math.sqrt(0.5)}, out, 1e-12);
+        assertFalse(InputRecording.direction(InputRecording.LEFT | InputRecording.RIGHT, out));
+        assertFalse(InputRecording.direction(0, out));
+    }
+
+    /** Key masks held for random stretches, so the log has long and short holds. */
+    private static int[] randomKeys(int ticks, SplittableRandom random) {
+        int[] keys = new int[ticks];
+        int held = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (random.nextInt(random.nextBoolean() ? 3 : 200) == 0) {
+                held = random.nextInt(16);
+            }
+            keys[tick] = held;
+        }
+        return keys;
+    }
+
+    private Path record(int[] keys) throws IOException {
+        Path file = dir.resolve("session" + InputRecording.EXTENSION);
+        try (InputRecording.Writer writer = new InputRecording.Writer(file, HEADER)) {
+            for (int key : keys) {
+                writer.tick(key);
+            }
+            assertEquals(keys.length, writer.getTicks());
+        }
+        return file;
+    }
+
+    /** Keys of every tick until the recording ends, reading at most {@code limit} ticks. */
+    private static int[] replay(Path file, int limit) throws IOException {
+        try (InputRecording.Reader reader = new InputRecording.Reader(file)) {
+            int[] keys = new int[limit];
+            int count = 0;
+            for (int key; count < limit && (key = reader.nextTick()) >= 0; ) {
+                keys[count++] = key;
+            }
+            return Arrays.copyOf(keys, count);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Striped run labeling finds the same blobs, in the same order, as a plain flood fill. */
+class MarkerDetectorTest {
+
+    private static final int BLUE = 0xFF0000FF;
+    private static final int RED = 0xFFFF0000;
+    private static final int WALL = 0xFF000000;
+
+    @Test
+    void matchesFloodFillOnRandomBlobs() {
+        SplittableRandom random = new SplittableRandom(11);
+        // Taller than several 64-row stripes, so blobs are stitched across stripe borders.
+        int width = 150;
+        int height = 300;
+        int[] argb = new int[width * height];
+        Arrays.fill(argb, WALL);
+        for (int blob = 0; blob < 120; blob++) {
+            int color = random.nextBoolean() ? BLUE : RED;
+            int cx = random.nextInt(width);
+            int cy = random.nextInt(height);
+            int radius = random.nextInt(1, 9);
+            for (int y = Math.max(0, cy - radius); y < Math.min(height, cy + radius + 1); y++) {
+                for (int x = Math.max(0, cx - radius); x < Math.min(width, cx + radius + 1); x++) {
+                    // Ragged discs: concave edges and holes make runs merge late.
+                    if ((x - cx) * (x - cx) + (y - cy) * (y - cy) <= radius * radius && random.nextInt(10) != 0) {
+                        argb[y * width + x] = color;
+                    }
+                }
+            }
+        }
+        MazeGrid grid = MazeGrid.fromArgb(width, height, argb, true);
+
+        MarkerDetector.Markers markers = MarkerDetector.findAllMarkerCenters(grid);
+        assertSameCenters(floodFillCenters(grid, true), markers.blue());
+        assertSameCenters(floodFillCenters(grid, false), markers.red());
+        assertSameCenters(floodFillCenters(grid, true), MarkerDetector.findMarkerCenters(grid, true));
+        assertSameCenters(floodFillCenters(grid, false), MarkerDetector.findMarkerCenters(grid, false));
+    }
+
+    @Test
+    void matchesFloodFillOnChallenger() throws IOException {
+        MazeGrid grid = MazeLevel.load("challenger.png").getGrid();
+        MarkerDetector.Markers markers = MarkerDetector.findAllMarkerCenters(grid);
+        assertSameCenters(floodFillCenters(grid, true), markers.blue());
+        assertSameCenters(floodFillCenters(grid, false), markers.red());
+    }
+
+    @Test
+    void regularLevelsHaveNoMarkers() throws IOException {
+        MarkerDetector.Markers markers = MarkerDetector.findAllMarkerCenters(MazeLevel.load("maze.png").getGrid());
+        assertEquals(0, markers.blue().size());
+        assertEquals(0, markers.red().size());
+    }
+
+    /** Centroids of 4-connected blobs, in scan order of each blob's first pixel. */
+    private static List<double[]> floodFillCenters(MazeGrid grid, boolean blue) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        boolean[] seen = new boolean[width * height];
+        int[] queue = new int[width * height];
+        List<double[]> centers = new ArrayList<>();
+        for (int start = 0; start < seen.length; start++) {
+            if (seen[start] || !isMarker(grid, blue, start % width, start / width)) {
+                continue;
+            }
+            long sumX = 0;
+            long sumY = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            seen[start] = true;
+            while (head < tail) {
+                int cell = queue[head++];
+                int x = cell % width;
+                int y = cell / width;
+                sumX += x;
+                sumY += y;
+                int[][] neighbours = {{x - 1, y}, {x + 1, y}, {x, y - 1}, {x, y + 1}};
+                for (int[] n : neighbours) {
+                    if (isMarker(grid, blue, n[0], n[1]) && !seen[n[1] * width + n[0]]) {
+                        seen[n[1] * width + n[0]] = true;
+                        queue[tail++] = n[1] * width + n[0];
+                    }
+                }
+            }
+            centers.add(new double[]{(double) sumX / tail, (double) sumY / tail});
+        }
+        return centers;
+    }
+
+    private static boolean isMarker(MazeGrid grid, boolean blue, int x, int y) {
+        return blue ? grid.isBlueMarker(x, y) : grid.isRedMarker(x, y);
+    }
+
+    private static void assertSameCenters(List<double[]> expected, List<double[]> actual) {
+        assertEquals(expected.size(), actual.size(), "blob count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), 1e-9, "blob " + i);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Colour rules: the anti-aliased ring around orange markers is floor, other warm colours are not. */
+class MazeGridTest {
+
+    @Test
+    void orangeFringeIsWalkable() {
+        // Darkest and lightest shades of the ring around maze2's orange marker.
+        assertTrue(MazeGrid.isWalkableColor(0xFFD59030, false));
+        assertTrue(MazeGrid.isWalkableColor(0xFFF6E6D0, false));
+    }
+
+    @Test
+    void pureRedsAndWarmGreysAreWalls() {
+        assertFalse(MazeGrid.isWalkableColor(0xFFFF4E2D, false));
+        assertFalse(MazeGrid.isWalkableColor(0xFFC7C6C5, false));
+        assertFalse(MazeGrid.isWalkableColor(0xFF000000, false));
+    }
+
+    @Test
+    void maze2SpawnMovesEveryWay() throws IOException {
+        double[][] moves = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (double[] move : moves) {
+            MazeLevel level = MazeLevel.load("maze2.png");
+            assertTrue(level.moveBy(move[0], move[1]), "stuck moving " + move[0] + "," + move[1]);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package edu.farmingdale.mazegame.core;
+
+import edu.farmingdale.mazegame.gen.MazeAlgorithm;
+import edu.farmingdale.mazegame.gen.MazeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every shortest-path strategy finds a path exactly as long as BFS's, or none
+ * when BFS finds none; HPA* finds a path whenever BFS does, never a shorter one.
+ */
+class MazeSolverTest {
+
+    private static final String[] LEVELS = {"maze.png", "maze2.png", "maze3.png", "challenger.png"};
+    private static final SolverStrategy[] EXACT = {
+            SolverStrategy.BFS, SolverStrategy.A_STAR, SolverStrategy.JUMP_POINT, SolverStrategy.DISTANCE_FIELD,
+    };
+
+    @Test
+    void exactStrategiesAgreeOnBundledLevels() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        for (String file : LEVELS) {
+            MazeLevel level = MazeLevel.load(file);
+            int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+            int[] end = {(int) level.getEndX(), (int) level.getEndY()};
+            assertFalse(assertExactAgree(level, start, end).isEmpty(), file + ": no path from spawn to exit");
+            for (int pair = 0; pair < 5; pair++) {
+                assertExactAgree(level, randomOpenCell(level, random), randomOpenCell(level, random));
+            }
+        }
+    }
+
+    @Test
+    void exactStrategiesAgreeOnGeneratedMazes() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            for (long seed = 1; seed <= 3; seed++) {
+                MazeLevel level = MazeGenerator.generate(algorithm, 12, 9, seed).toLevel(algorithm + "-" + seed);
+                for (int pair = 0; pair < 5; pair++) {
+                    assertExactAgree(level, randomOpenCell(level, random), randomOpenCell(level, random));
+                }
+            }
+        }
+    }
+
+    @Test
+    void exactStrategiesAgreeOnNoiseGrids() {
+        SplittableRandom random = new SplittableRandom(5);
+        int unreachable = 0;
+        for (int grid = 0; grid < 30; grid++) {
+            MazeLevel level = noiseLevel(random);
+            for (int pair = 0; pair < 5; pair++) {
+                if (assertExactAgree(level, randomOpenCell(level, random), randomOpenCell(level, random)).isEmpty()) {
+                    unreachable++;
+                }
+            }
+        }
+        // The noise should wall some pairs off from each other, or "no path" goes untested.
+        assertTrue(unreachable > 0 && unreachable < 150, unreachable + " of 150 pairs unreachable");
+    }
+
+    @Test
+    void hierarchicalFindsValidNearShortestPaths() throws IOException {
+        SplittableRandom random = new SplittableRandom(6);
+        for (String file : LEVELS) {
+            MazeLevel level = MazeLevel.load(file);
+            int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+            assertHierarchicalValid(level, start, new int[]{(int) level.getEndX(), (int) level.getEndY()});
+            for (int pair = 0; pair < 5; pair++) {
+                assertHierarchicalValid(level, randomOpenCell(level, random), randomOpenCell(level, random));
+            }
+        }
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            // Several clusters across, so paths cross cluster borders.
+            MazeLevel level = MazeGenerator.generate(algorithm, 24, 20, 7).toLevel(algorithm.name());
+            for (int pair = 0; pair < 10; pair++) {
+                assertHierarchicalValid(level, randomOpenCell(level, random), randomOpenCell(level, random));
+            }
+        }
+        for (int grid = 0; grid < 30; grid++) {
+            MazeLevel level = noiseLevel(random);
+            for (int pair = 0; pair < 5; pair++) {
+                assertHierarchicalValid(level, randomOpenCell(level, random), randomOpenCell(level, random));
+            }
+        }
+    }
+
+    /** HPA* finds a path exactly when BFS does, and it is never shorter. */
+    private static void assertHierarchicalValid(MazeLevel level, int[] start, int[] end) {
+        MazeSolver solver = level.getSolver();
+        String pair = level.getName() + " " + start[0] + "," + start[1] + " -> " + end[0] + "," + end[1];
+        List<int[]> bfs = solver.solve(start[0], start[1], end[0], end[1], SolverStrategy.BFS);
+        List<int[]> path = solver.solve(start[0], start[1], end[0], end[1], SolverStrategy.HIERARCHICAL);
+        assertEquals(bfs.isEmpty(), path.isEmpty(), pair);
+        if (!path.isEmpty()) {
+            assertTrue(path.size() >= bfs.size(), pair + ": HPA* beat the shortest path");
+            assertValidPath(level, path, start, end);
+        }
+    }
+
+    /** Solves with every exact strategy and returns BFS's path. */
+    private static List<int[]> assertExactAgree(MazeLevel level, int[] start, int[] end) {
+        MazeSolver solver = level.getSolver();
+        String pair = level.getName() + " " + start[0] + "," + start[1] + " -> " + end[0] + "," + end[1];
+        List<int[]> bfs = solver.solve(start[0], start[1], end[0], end[1], SolverStrategy.BFS);
+        for (SolverStrategy strategy : EXACT) {
+            List<int[]> path = solver.solve(start[0], start[1], end[0], end[1], strategy);
+            assertEquals(bfs.size(), path.size(), pair + ": " + strategy);
+            if (!path.isEmpty()) {
+                assertValidPath(level, path, start, end);
+            }
+        }
+        return bfs;
+    }
+
+    /**
+     * Floor with square wall blocks dropped at random, coarse enough that the
+     * 20 px player fits through some gaps and not others.
+     */
+    static MazeLevel noiseLevel(SplittableRandom random) {
+        int width = 240;
+        int height = 200;
+        int block = 12;
+        int[] argb = new int[width * height];
+        Arrays.fill(argb, 0xFFFFFFFF);
+        for (int by = 0; by < height; by += block) {
+            for (int bx = 0; bx < width; bx += block) {
+                if (random.nextInt(100) < 22) {
+                    for (int y = by; y < Math.min(height, by + block); y++) {
+                        Arrays.fill(argb, y * width + bx, y * width + Math.min(width, bx + block), 0xFF000000);
+                    }
+                }
+            }
+        }
+        return new MazeLevel("noise", MazeGrid.fromArgb(width, height, argb, false), 0, 0, 0, 0);
+    }
+
+    /** A random step-grid position the player fits at. */
+    static int[] randomOpenCell(MazeLevel level, SplittableRandom random) {
+        int step = level.getStepSize();
+        while (true) {
+            int x = random.nextInt(level.getWidth() / step) * step;
+            int y = random.nextInt(level.getHeight() / step) * step;
+            if (level.canMoveTo(x, y)) {
+                return new int[]{x, y};
+            }
+        }
+    }
+
+    /** Starts and ends where asked, moves one cell along one axis per step, and the player fits everywhere. */
+    static void assertValidPath(MazeLevel level, List<int[]> path, int[] start, int[] end) {
+        int step = level.getStepSize();
+        assertArrayEquals(new int[]{start[0] / step * step, start[1] / step * step}, path.get(0));
+        assertArrayEquals(new int[]{end[0] / step * step, end[1] / step * step}, path.get(path.size() - 1));
+        for (int i = 0; i < path.size(); i++) {
+            int[] p = path.get(i);
+            assertTrue(level.canMoveTo(p[0], p[1]), "blocked waypoint " + p[0] + "," + p[1]);
+            if (i > 0) {
+                int[] q = path.get(i - 1);
+                assertEquals(step, Math.abs(p[0] - q[0]) + Math.abs(p[1] - q[1]), "jump at waypoint " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The table returns an open cell in the smallest square ring around any cell, like a ring search. */
+class NearestOpenCellsTest {
+
+    @Test
+    void matchesRingSearchOnRandomCells() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int round = 0; round < 20; round++) {
+            int cols = random.nextInt(1, 60);
+            int rows = random.nextInt(1, 60);
+            // From nearly empty to nearly full, so both far and near lookups occur.
+            int percentOpen = random.nextInt(1, 60);
+            long[] open = new long[(cols * rows + 63) >>> 6];
+            for (int cell = 0; cell < cols * rows; cell++) {
+                if (random.nextInt(100) < percentOpen) {
+                    open[cell >>> 6] |= 1L << cell;
+                }
+            }
+            NearestOpenCells table = new NearestOpenCells(open, cols, rows);
+
+            for (int cy = 0; cy < rows; cy++) {
+                for (int cx = 0; cx < cols; cx++) {
+                    int expected = ringDistance(open, cols, rows, cx, cy);
+                    int cell = table.nearest(cx, cy);
+                    if (expected < 0) {
+                        assertEquals(NearestOpenCells.NONE, cell);
+                        continue;
+                    }
+                    assertTrue(isOpen(open, cell), "closed cell " + cell + " for " + cx + "," + cy);
+                    assertEquals(expected, Math.max(Math.abs(cell % cols - cx), Math.abs(cell / cols - cy)),
+                            "ring of the cell found for " + cx + "," + cy);
+                    if (isOpen(open, cy * cols + cx)) {
+                        assertEquals(cy * cols + cx, cell);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void clampsLookupsOutsideTheGrid() {
+        long[] open = {1L << (2 * 5 + 4)};
+        NearestOpenCells table = new NearestOpenCells(open, 5, 3);
+        assertEquals(14, table.nearest(-10, 99));
+        assertEquals(14, table.nearest(40, -3));
+    }
+
+    @Test
+    void emptyLevelHasNoNearestCell() {
+        NearestOpenCells table = new NearestOpenCells(new long[1], 7, 4);
+        assertEquals(NearestOpenCells.NONE, table.nearest(3, 2));
+    }
+
+    /** Smallest Chebyshev distance to an open cell, or -1 if none is open. */
+    private static int ringDistance(long[] open, int cols, int rows, int cx, int cy) {
+        int best = -1;
+        for (int cell = 0; cell < cols * rows; cell++) {
+            if (isOpen(open, cell)) {
+                int ring = Math.max(Math.abs(cell % cols - cx), Math.abs(cell / cols - cy));
+                if (best < 0 || ring < best) {
+                    best = ring;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static boolean isOpen(long[] open, int cell) {
+        return (open[cell >>> 6] & (1L << cell)) != 0;
+    }
+}
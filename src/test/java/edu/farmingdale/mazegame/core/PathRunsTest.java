@@ -0,0 +1,137 @@
+package edu.farmingdale.mazegame.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs hold the same path as its cells, cursors walk them exactly, and lazy paths refine only ahead of the reader. */
+class PathRunsTest {
+
+    private static final String[] LEVELS = {"maze.png", "maze2.png", "maze3.png", "challenger.png"};
+
+    @Test
+    void builderFoldsStraightCellsIntoRuns() {
+        List<int[]> cells = new ArrayList<>();
+        for (int x = 0; x <= 40; x += 4) {
+            cells.add(new int[]{x, 8});
+        }
+        for (int y = 12; y <= 24; y += 4) {
+            cells.add(new int[]{40, y});
+        }
+        PathRuns runs = PathRuns.of(cells);
+        assertEquals(3, runs.getVertexCount());
+        assertArrayEquals(new int[]{0, 8, 40, 8, 40, 24}, vertices(runs));
+        assertEquals(56.0, runs.getLength());
+    }
+
+    @Test
+    void cursorStopsAtEveryDistanceAlongTheRuns() {
+        PathRuns runs = new PathRuns.Builder().add(0, 0).add(10, 0).add(10, 20).build();
+        PathRuns.Cursor cursor = runs.cursor(0, 0);
+        assertEquals(0, cursor.advance(4));
+        assertEquals(4.0, cursor.getX());
+        assertEquals(0, cursor.advance(11));
+        assertEquals(10.0, cursor.getX());
+        assertEquals(5.0, cursor.getY());
+        // 15 px are left on the path, so 5 of the 20 are handed back.
+        assertEquals(5.0, cursor.advance(20));
+        assertTrue(cursor.isDone());
+        assertEquals(20.0, cursor.getY());
+    }
+
+    @Test
+    void lazyPathRefinesOnlyAheadOfTheCursor() {
+        SplittableRandom random = new SplittableRandom(21);
+        List<List<int[]>> pieces = randomPieces(random, 200);
+        PathRuns eager = PathRuns.of(pieces.stream().flatMap(List::stream).toList());
+
+        int[] refined = new int[1];
+        PathRuns lazy = PathRuns.lazy(runs -> {
+            for (int[] p : pieces.get(refined[0])) {
+                runs.add(p[0], p[1]);
+            }
+            return ++refined[0] < pieces.size();
+        });
+        PathRuns.Cursor lazyCursor = lazy.cursor(eager.getX(0), eager.getY(0));
+        PathRuns.Cursor eagerCursor = eager.cursor(eager.getX(0), eager.getY(0));
+        lazyCursor.advance(1);
+        eagerCursor.advance(1);
+        assertTrue(refined[0] < 5, "refined " + refined[0] + " pieces for the first pixel");
+
+        while (!eagerCursor.isDone()) {
+            double step = random.nextDouble(0.5, 30);
+            assertEquals(eagerCursor.advance(step), lazyCursor.advance(step), 1e-9);
+            assertEquals(eagerCursor.getX(), lazyCursor.getX(), 1e-9);
+            assertEquals(eagerCursor.getY(), lazyCursor.getY(), 1e-9);
+        }
+        assertTrue(lazyCursor.isDone());
+        assertEquals(pieces.size(), refined[0]);
+        assertArrayEquals(vertices(eager), vertices(lazy));
+        assertEquals(eager.getLength(), lazy.getLength(), 1e-9);
+    }
+
+    @Test
+    void solvedRunsMatchTheCellPath() throws IOException {
+        for (String file : LEVELS) {
+            MazeLevel level = MazeLevel.load(file);
+            MazeSolver solver = level.getSolver();
+            int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+            int endX = (int) level.getEndX();
+            int endY = (int) level.getEndY();
+            int step = level.getStepSize();
+
+            for (SolverStrategy strategy : SolverStrategy.values()) {
+                PathRuns expected = PathRuns.of(solver.solve(start[0], start[1], endX, endY, strategy));
+                PathRuns runs = solver.solveRuns(start[0], start[1], endX, endY, strategy);
+                // Walk a cursor first, so lazy (HPA*) runs are read the way the game reads them.
+                PathRuns.Cursor cursor = runs.cursor(start[0], start[1]);
+                while (!cursor.isDone()) {
+                    cursor.advance(7.5);
+                }
+                assertArrayEquals(vertices(expected), vertices(runs), file + ": " + strategy);
+                assertEquals(endX / step * step, cursor.getX(), file + ": " + strategy);
+                assertEquals(endY / step * step, cursor.getY(), file + ": " + strategy);
+            }
+        }
+    }
+
+    /** A staircase-and-corridor walk from the origin on a 4 px lattice, cut into pieces of a few cells each. */
+    private static List<List<int[]>> randomPieces(SplittableRandom random, int count) {
+        List<List<int[]>> pieces = new ArrayList<>();
+        int x = 0;
+        int y = 0;
+        for (int piece = 0; piece < count; piece++) {
+            List<int[]> points = new ArrayList<>();
+            if (piece == 0) {
+                points.add(new int[]{x, y});
+            }
+            boolean horizontal = random.nextBoolean();
+            for (int cells = random.nextInt(1, 6); cells > 0; cells--) {
+                if (horizontal) {
+                    x += 4;
+                } else {
+                    y += 4;
+                }
+                points.add(new int[]{x, y});
+            }
+            pieces.add(points);
+        }
+        return pieces;
+    }
+
+    private static int[] vertices(PathRuns runs) {
+        int[] vertices = new int[2 * runs.getVertexCount()];
+        for (int i = 0; i < runs.getVertexCount(); i++) {
+            vertices[2 * i] = runs.getX(i);
+            vertices[2 * i + 1] = runs.getY(i);
+        }
+        return vertices;
+    }
+}
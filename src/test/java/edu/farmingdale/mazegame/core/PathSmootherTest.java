@@ -0,0 +1,116 @@
+package edu.farmingdale.mazegame.core;
+
+import edu.farmingdale.mazegame.gen.MazeAlgorithm;
+import edu.farmingdale.mazegame.gen.MazeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Smoothed paths keep their ends, never get longer, and the player can drive every segment. */
+class PathSmootherTest {
+
+    private static final String[] LEVELS = {"maze.png", "maze2.png", "maze3.png", "challenger.png"};
+    /** Positions along a segment are checked this far apart. */
+    private static final double SAMPLE = 0.05;
+
+    @Test
+    void smoothedPathsAreDrivableOnBundledLevels() throws IOException {
+        SplittableRandom random = new SplittableRandom(20);
+        for (String file : LEVELS) {
+            MazeLevel level = MazeLevel.load(file);
+            int[] start = level.resolveAutoStart(level.getPlayerX(), level.getPlayerY());
+            assertSmoothedDrivable(level, start, new int[]{(int) level.getEndX(), (int) level.getEndY()});
+            for (int pair = 0; pair < 3; pair++) {
+                assertSmoothedDrivable(level, MazeSolverTest.randomOpenCell(level, random),
+                        MazeSolverTest.randomOpenCell(level, random));
+            }
+        }
+    }
+
+    @Test
+    void smoothedPathsAreDrivableOnGeneratedAndNoiseGrids() {
+        SplittableRandom random = new SplittableRandom(21);
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            MazeLevel level = MazeGenerator.generate(algorithm, 12, 9, 20).toLevel(algorithm.name());
+            for (int pair = 0; pair < 5; pair++) {
+                assertSmoothedDrivable(level, MazeSolverTest.randomOpenCell(level, random),
+                        MazeSolverTest.randomOpenCell(level, random));
+            }
+        }
+        for (int grid = 0; grid < 30; grid++) {
+            MazeLevel level = MazeSolverTest.noiseLevel(random);
+            for (int pair = 0; pair < 5; pair++) {
+                assertSmoothedDrivable(level, MazeSolverTest.randomOpenCell(level, random),
+                        MazeSolverTest.randomOpenCell(level, random));
+            }
+        }
+    }
+
+    @Test
+    void staircaseInOpenFloorBecomesOneSegment() {
+        int[] argb = new int[200 * 200];
+        Arrays.fill(argb, 0xFFFFFFFF);
+        MazeLevel level = new MazeLevel("floor", MazeGrid.fromArgb(200, 200, argb, false), 0, 0, 0, 0);
+        PathRuns.Builder stairs = new PathRuns.Builder().add(0, 0);
+        for (int i = 4; i <= 120; i += 4) {
+            stairs.add(i, i - 4).add(i, i);
+        }
+        PathRuns smoothed = level.getSolver().smooth(stairs.build());
+        assertEquals(2, smoothed.getVertexCount());
+        assertEquals(120, smoothed.getX(1));
+        assertEquals(120, smoothed.getY(1));
+    }
+
+    @Test
+    void canSlideNeverPassesThroughAWall() {
+        SplittableRandom random = new SplittableRandom(22);
+        for (int grid = 0; grid < 10; grid++) {
+            MazeLevel level = MazeSolverTest.noiseLevel(random);
+            PathSmoother smoother = new PathSmoother(level.getClearance(), level.getPlayerSize(), 0.0);
+            for (int pair = 0; pair < 200; pair++) {
+                int[] a = MazeSolverTest.randomOpenCell(level, random);
+                int[] b = MazeSolverTest.randomOpenCell(level, random);
+                if (smoother.canSlide(a[0], a[1], b[0], b[1])) {
+                    assertSegmentDrivable(level, a[0], a[1], b[0], b[1]);
+                }
+            }
+        }
+    }
+
+    private static void assertSmoothedDrivable(MazeLevel level, int[] start, int[] end) {
+        MazeSolver solver = level.getSolver();
+        PathRuns path = PathRuns.of(solver.solve(start[0], start[1], end[0], end[1], SolverStrategy.BFS));
+        if (path.isEmpty()) {
+            return;
+        }
+        PathRuns smoothed = solver.smooth(path);
+        String pair = level.getName() + " " + start[0] + "," + start[1] + " -> " + end[0] + "," + end[1];
+        int last = smoothed.getVertexCount() - 1;
+        assertEquals(path.getX(0), smoothed.getX(0), pair);
+        assertEquals(path.getY(0), smoothed.getY(0), pair);
+        assertEquals(path.getX(path.getVertexCount() - 1), smoothed.getX(last), pair);
+        assertEquals(path.getY(path.getVertexCount() - 1), smoothed.getY(last), pair);
+        assertTrue(smoothed.getLength() <= path.getLength() + 1e-9, pair + ": smoothing made the path longer");
+        for (int i = 0; i < last; i++) {
+            assertSegmentDrivable(level, smoothed.getX(i), smoothed.getY(i),
+                    smoothed.getX(i + 1), smoothed.getY(i + 1));
+        }
+    }
+
+    /** The player fits at every sampled position of the straight line from (x0, y0) to (x1, y1). */
+    private static void assertSegmentDrivable(MazeLevel level, int x0, int y0, int x1, int y1) {
+        int samples = (int) Math.ceil(Math.hypot(x1 - x0, y1 - y0) / SAMPLE);
+        for (int i = 0; i <= samples; i++) {
+            double t = samples == 0 ? 0 : (double) i / samples;
+            double x = x0 + (x1 - x0) * t;
+            double y = y0 + (y1 - y0) * t;
+            assertTrue(level.canMoveTo(x, y), level.getName() + ": segment " + x0 + "," + y0
+                    + " -> " + x1 + "," + y1 + " blocked at " + x + "," + y);
+        }
+    }
+}
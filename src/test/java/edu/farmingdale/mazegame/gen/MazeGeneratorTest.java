@@ -0,0 +1,137 @@
+package edu.farmingdale.mazegame.gen;
+
+import edu.farmingdale.mazegame.core.MazeGrid;
+import edu.farmingdale.mazegame.core.MazeLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Every algorithm carves a perfect maze: a spanning tree of its cells, entered and left through open cells. */
+class MazeGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyAlgorithmCarvesASpanningTree() {
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            for (long seed = 1; seed <= 5; seed++) {
+                GeneratedMaze maze = MazeGenerator.generate(algorithm, 17 + (int) seed, 11, seed);
+                assertSpanningTree(maze, algorithm + " seed " + seed);
+            }
+            // Single rows and columns are corridors; a single cell has no opening at all.
+            assertSpanningTree(MazeGenerator.generate(algorithm, 9, 1, 1), algorithm + " 9x1");
+            assertSpanningTree(MazeGenerator.generate(algorithm, 1, 9, 1), algorithm + " 1x9");
+            assertSpanningTree(MazeGenerator.generate(algorithm, 1, 1, 1), algorithm + " 1x1");
+        }
+    }
+
+    @Test
+    void spawnAndExitAreOpenAndConnected() {
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            GeneratedMaze maze = MazeGenerator.generate(algorithm, 640, 3);
+            MazeLevel level = maze.toLevel(algorithm.name());
+            assertTrue(level.canMoveTo(maze.getSpawnX(), maze.getSpawnY()), algorithm + ": spawn blocked");
+            assertTrue(level.canMoveTo(maze.getEndX(), maze.getEndY()), algorithm + ": exit blocked");
+            assertTrue(level.getSolver().solve(maze.getSpawnX(), maze.getSpawnY(), maze.getEndX(), maze.getEndY())
+                    .size() > 1, algorithm + ": no path from spawn to exit");
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameMaze() {
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+            GeneratedMaze a = MazeGenerator.generate(algorithm, 30, 20, 42);
+            GeneratedMaze b = MazeGenerator.generate(algorithm, 30, 20, 42);
+            boolean[] rowA = new boolean[a.getWidth()];
+            boolean[] rowB = new boolean[b.getWidth()];
+            for (int y = 0; y < a.getHeight(); y++) {
+                a.renderRow(y, rowA);
+                b.renderRow(y, rowB);
+                assertArrayEquals(rowA, rowB, algorithm + " row " + y);
+            }
+        }
+    }
+
+    @Test
+    void writtenPngReadsBackAsTheSameGrid() throws IOException {
+        // Not a multiple of 8 pixels wide, so the last packed byte is partly padding.
+        GeneratedMaze maze = MazeGenerator.generate(MazeAlgorithm.WILSON, 13, 7, 9);
+        Path png = dir.resolve("maze.png");
+        maze.write(png);
+
+        MazeGrid expected = maze.toGrid();
+        MazeGrid read = MazeGrid.read(png, false);
+        assertEquals(expected.getWidth(), read.getWidth());
+        assertEquals(expected.getHeight(), read.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.isWalkable(x, y), read.isWalkable(x, y), "pixel " + x + "," + y);
+            }
+        }
+        MazeLevel level = MazeLevel.load(png);
+        assertEquals(maze.getSpawnX(), level.getPlayerX());
+        assertEquals(maze.getEndY(), level.getEndY());
+    }
+
+    /**
+     * Reads the openings back from the rendered pixels: a perfect maze has
+     * exactly one fewer opening than cells, and reaches every cell from the first.
+     */
+    private static void assertSpanningTree(GeneratedMaze maze, String label) {
+        int cellsX = maze.getCellsX();
+        int cellsY = maze.getCellsY();
+        boolean[][] rows = new boolean[maze.getHeight()][maze.getWidth()];
+        for (int y = 0; y < maze.getHeight(); y++) {
+            maze.renderRow(y, rows[y]);
+        }
+
+        int[] parent = new int[cellsX * cellsY];
+        for (int cell = 0; cell < parent.length; cell++) {
+            parent[cell] = cell;
+        }
+        int openings = 0;
+        for (int cy = 0; cy < cellsY; cy++) {
+            for (int cx = 0; cx < cellsX; cx++) {
+                int x = GeneratedMaze.WALL + cx * GeneratedMaze.PITCH;
+                int y = GeneratedMaze.WALL + cy * GeneratedMaze.PITCH;
+                assertTrue(rows[y][x], label + ": cell " + cx + "," + cy + " is not carved");
+                if (rows[y][x + GeneratedMaze.CORRIDOR]) {
+                    assertTrue(cx + 1 < cellsX, label + ": opening through the right border");
+                    openings++;
+                    union(parent, cy * cellsX + cx, cy * cellsX + cx + 1, label);
+                }
+                if (rows[y + GeneratedMaze.CORRIDOR][x]) {
+                    assertTrue(cy + 1 < cellsY, label + ": opening through the bottom border");
+                    openings++;
+                    union(parent, cy * cellsX + cx, (cy + 1) * cellsX + cx, label);
+                }
+            }
+        }
+        assertEquals(cellsX * cellsY - 1, openings, label + ": openings");
+        for (int cell = 0; cell < parent.length; cell++) {
+            assertEquals(find(parent, 0), find(parent, cell), label + ": cell " + cell + " is cut off");
+        }
+    }
+
+    /** Joins two cells' sets; an opening between cells already joined would close a loop. */
+    private static void union(int[] parent, int a, int b, String label) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        assertTrue(rootA != rootB, label + ": loop through cells " + a + " and " + b);
+        parent[rootA] = rootB;
+    }
+
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] != cell) {
+            cell = parent[cell];
+        }
+        return cell;
+    }
+}